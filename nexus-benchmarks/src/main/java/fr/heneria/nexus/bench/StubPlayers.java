@@ -0,0 +1,50 @@
+package fr.heneria.nexus.bench;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+/**
+ * {@link Player} stubs standing at a fixed position. They answer identity and
+ * position only; every other method returns null, false or 0.
+ */
+public final class StubPlayers {
+
+    private StubPlayers() {
+    }
+
+    public static Player at(int index, double x, double y, double z) {
+        UUID uuid = new UUID(0x4E45585553L, index);
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getUniqueId" -> uuid;
+                    case "getLocation" -> {
+                        Location loc = args != null && args.length == 1 ? (Location) args[0] : new Location(null, 0, 0, 0);
+                        if (loc != null) {
+                            loc.setWorld(null);
+                            loc.set(x, y, z);
+                        }
+                        yield loc;
+                    }
+                    case "isOnline" -> true;
+                    case "hashCode" -> index;
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "stub-" + index;
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        return 0d;
+    }
+}
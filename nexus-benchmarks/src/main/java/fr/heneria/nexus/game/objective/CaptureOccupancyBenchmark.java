@@ -0,0 +1,57 @@
+package fr.heneria.nexus.game.objective;
+
+import fr.heneria.nexus.bench.StubPlayers;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CapturePoint#countInZone(List)} over one team roster, radius 8 zone.
+ * The stub players box their {@code getLocation(Location)} argument, which shows
+ * up in the allocation rate; a real CraftPlayer does not allocate there.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaptureOccupancyBenchmark {
+
+    @Param({"10", "100"})
+    private int rosterSize;
+
+    private CapturePoint point;
+    private List<Player> roster;
+
+    @Setup
+    public void setup() {
+        // Occupancy only reads the zone, the plugin is never touched
+        point = new CapturePoint(null, "bench", new Location(null, 0.5, 40, 0.5), 8, 10);
+        Random random = new Random(42);
+        roster = new ArrayList<>(rosterSize);
+        for (int i = 0; i < rosterSize; i++) {
+            roster.add(StubPlayers.at(i, random.nextGaussian() * 12, 40 + random.nextGaussian() * 12, random.nextGaussian() * 12));
+        }
+    }
+
+    @Benchmark
+    public int countInZone() {
+        return point.countInZone(roster);
+    }
+}
@@ -0,0 +1,61 @@
+package fr.heneria.nexus.game.objective;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import fr.heneria.nexus.NexusPlugin;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ObjectiveManager#isCellItem(ItemStack)} on the Cell, on another item and
+ * on another nether star. MockBukkit provides the ItemFactory behind the Cell's
+ * meta, so the tag lookup copies an ItemMeta as it does on a server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CellItemBenchmark {
+
+    @Param({"cell", "sword", "star"})
+    private String item;
+
+    private ObjectiveManager objectives;
+    private ItemStack stack;
+
+    @Setup
+    public void setup() {
+        MockBukkit.mock();
+        objectives = MockBukkit.load(NexusPlugin.class).getObjectiveManager();
+        stack = switch (item) {
+            case "cell" -> objectives.createCellItem();
+            case "sword" -> new ItemStack(Material.IRON_SWORD);
+            default -> new ItemStack(Material.NETHER_STAR);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public boolean isCellItem() {
+        return objectives.isCellItem(stack);
+    }
+}
@@ -0,0 +1,56 @@
+package fr.heneria.nexus.game.team;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** {@link TeamBalancer#partition(double[], int[][])} on a lobby split into random parties of 1 to 4 players. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamBalancerBenchmark {
+
+    @Param({"10", "50", "100", "200", "500"})
+    private int lobbySize;
+
+    private double[] ratings;
+    private int[][] groups;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        ratings = new double[lobbySize];
+        for (int i = 0; i < lobbySize; i++) {
+            ratings[i] = RatingStore.DEFAULT_RATING + random.nextGaussian() * 200;
+        }
+
+        List<int[]> parties = new ArrayList<>();
+        for (int i = 0; i < lobbySize; ) {
+            int[] party = new int[Math.min(lobbySize - i, 1 + random.nextInt(4))];
+            for (int j = 0; j < party.length; j++) party[j] = i++;
+            parties.add(party);
+        }
+        groups = parties.toArray(new int[0][]);
+    }
+
+    @Benchmark
+    public byte[] partition() {
+        return TeamBalancer.partition(ratings, groups);
+    }
+}
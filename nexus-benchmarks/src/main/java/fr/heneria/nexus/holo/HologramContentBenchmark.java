@@ -0,0 +1,36 @@
+package fr.heneria.nexus.holo;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** {@link HoloService#buildContent(List)} for a capture point hologram: title plus two progress lines. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HologramContentBenchmark {
+
+    private final List<Component> lines = List.of(
+            Component.text("Point Centre", NamedTextColor.GOLD),
+            Component.text("Bleu 45%", NamedTextColor.BLUE),
+            Component.text("Rouge 55%", NamedTextColor.RED));
+
+    @Benchmark
+    public Component buildContent() {
+        return HoloService.buildContent(lines);
+    }
+}
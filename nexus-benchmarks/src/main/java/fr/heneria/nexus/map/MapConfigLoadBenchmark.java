@@ -0,0 +1,84 @@
+package fr.heneria.nexus.map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MapConfig#load()} on a synthetic maps.yml. Every entry is valid, so the
+ * plugin (only used for warnings and the default resource) is never touched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapConfigLoadBenchmark {
+
+    @Param({"20", "200"})
+    private int catalogSize;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("nexus-maps", ".yml");
+        Files.writeString(file, syntheticCatalog(catalogSize), StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int load() {
+        MapConfig config = new MapConfig(null, file.toFile());
+        config.load();
+        return config.getMaps().size();
+    }
+
+    private static String syntheticCatalog(int size) {
+        StringBuilder yaml = new StringBuilder("maps:\n");
+        for (int i = 0; i < size; i++) {
+            yaml.append("  map_").append(i).append(":\n")
+                    .append("    name: \"Map ").append(i).append("\"\n")
+                    .append("    description: \"Synthetic map\"\n")
+                    .append("    sourceFolder: \"map_").append(i).append("\"\n")
+                    .append("    teams:\n");
+            for (String team : new String[]{"BLUE", "RED"}) {
+                yaml.append("      ").append(team).append(":\n")
+                        .append("        spawn: [").append(i).append(".5, 64.0, -40.5]\n")
+                        .append("        nexusLocation: [").append(i).append(".5, 60.0, -50.5]\n");
+            }
+            yaml.append("    captures:\n");
+            for (int c = 0; c < 3; c++) {
+                yaml.append("      point_").append(c).append(":\n")
+                        .append("        location: [").append(c * 20).append(".5, 40.0, 0.5]\n")
+                        .append("        radius: 8.0\n")
+                        .append("        respawnTime: 10\n");
+            }
+            yaml.append("    protectedRegions:\n")
+                    .append("      core:\n")
+                    .append("        min: [-5.0, 38.0, -5.0]\n")
+                    .append("        max: [5.0, 45.0, 5.0]\n");
+        }
+        return yaml.toString();
+    }
+}
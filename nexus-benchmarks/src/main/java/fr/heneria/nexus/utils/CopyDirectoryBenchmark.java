@@ -0,0 +1,86 @@
+package fr.heneria.nexus.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FileUtils#copyDirectory(File, File)} of a synthetic world tree (level.dat,
+ * 16 region files of 64 KiB, a few data files), as done for each map load. The
+ * copy is deleted after every invocation, outside the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CopyDirectoryBenchmark {
+
+    private static final int REGION_FILES = 16;
+    private static final int REGION_FILE_SIZE = 64 * 1024;
+
+    private File workDir;
+    private File source;
+    private File target;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDir = Files.createTempDirectory("nexus-copy").toFile();
+        source = new File(workDir, "template");
+        target = new File(workDir, "copy");
+        writeSyntheticWorld(source);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteCopy() throws IOException {
+        FileUtils.deleteDirectory(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(workDir);
+    }
+
+    @Benchmark
+    public File copyDirectory() throws IOException {
+        FileUtils.copyDirectory(source, target);
+        return target;
+    }
+
+    private static void writeSyntheticWorld(File root) throws IOException {
+        Random random = new Random(7);
+        byte[] chunk = new byte[REGION_FILE_SIZE];
+        File region = new File(root, "region");
+        File data = new File(root, "data");
+        Files.createDirectories(region.toPath());
+        Files.createDirectories(data.toPath());
+
+        random.nextBytes(chunk);
+        Files.write(new File(root, "level.dat").toPath(), Arrays.copyOf(chunk, 4096));
+        for (int i = 0; i < REGION_FILES; i++) {
+            random.nextBytes(chunk);
+            Files.write(new File(region, "r." + (i % 4) + "." + (i / 4) + ".mca").toPath(), chunk);
+        }
+        for (int i = 0; i < 4; i++) {
+            Files.writeString(new File(data, "raids_" + i + ".dat").toPath(), "data", StandardCharsets.UTF_8);
+        }
+    }
+}
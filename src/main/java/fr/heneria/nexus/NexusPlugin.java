@@ -1,28 +1,61 @@
 package fr.heneria.nexus;
 
 import fr.heneria.nexus.classes.ClassManager;
+import fr.heneria.nexus.classes.PassiveEngine;
 import fr.heneria.nexus.commands.NexusCommand;
 import fr.heneria.nexus.commands.NexusTabCompleter;
+import fr.heneria.nexus.cooldown.CooldownService;
 import fr.heneria.nexus.game.GameManager;
+import fr.heneria.nexus.game.GameState;
+import fr.heneria.nexus.game.PhaseListenerRegistry;
+import fr.heneria.nexus.game.area.AreaEffectEngine;
 import fr.heneria.nexus.game.objective.ObjectiveManager;
+import fr.heneria.nexus.game.team.RatingStore;
 import fr.heneria.nexus.game.team.TeamManager;
 import fr.heneria.nexus.holo.HoloService;
+import fr.heneria.nexus.io.IoExecutor;
 import fr.heneria.nexus.listeners.ClassListener;
 import fr.heneria.nexus.listeners.GuiListener;
 import fr.heneria.nexus.listeners.ObjectiveListener;
+import fr.heneria.nexus.listeners.PlayerListener;
 import fr.heneria.nexus.map.MapManager;
+import fr.heneria.nexus.metrics.MetricsExporter;
+import fr.heneria.nexus.metrics.NexusMetrics;
+import fr.heneria.nexus.perf.TickProfiler;
+import fr.heneria.nexus.player.PlayerRegistry;
+import fr.heneria.nexus.scheduler.NexusScheduler;
 import lombok.Getter;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 public class NexusPlugin extends JavaPlugin {
 
+    private static final long FINAL_SAVE_TIMEOUT_SECONDS = 10;
+
     @Getter
     private static NexusPlugin instance;
     @Getter
+    private NexusScheduler scheduler;
+    @Getter
+    private IoExecutor ioExecutor;
+    @Getter
+    private TickProfiler profiler;
+    @Getter
+    private NexusMetrics metrics;
+    private MetricsExporter metricsExporter;
+    @Getter
     private GameManager gameManager;
     @Getter
     private ClassManager classManager;
     @Getter
+    private PassiveEngine passiveEngine;
+    @Getter
+    private AreaEffectEngine areaEngine;
+    @Getter
     private MapManager mapManager;
     @Getter
     private HoloService holoService;
@@ -30,31 +63,96 @@ public class NexusPlugin extends JavaPlugin {
     private TeamManager teamManager;
     @Getter
     private ObjectiveManager objectiveManager;
+    @Getter
+    private PlayerRegistry playerRegistry;
+    @Getter
+    private CooldownService cooldownService;
+    @Getter
+    private PhaseListenerRegistry phaseListeners;
+    @Getter
+    private RatingStore ratingStore;
 
     @Override
     public void onEnable() {
         instance = this;
+        saveDefaultConfig();
+        this.scheduler = NexusScheduler.create(this);
+        this.ioExecutor = new IoExecutor(this);
+        this.profiler = new TickProfiler(this);
+        this.metrics = new NexusMetrics();
+        this.playerRegistry = new PlayerRegistry();
+        this.cooldownService = new CooldownService(this, playerRegistry);
         this.holoService = new HoloService(this); // Init HoloService first?
         this.mapManager = new MapManager(this);
         this.teamManager = new TeamManager(this);
+        this.ratingStore = new RatingStore(this);
+        this.ratingStore.load();
         this.objectiveManager = new ObjectiveManager(this);
-        this.classManager = new ClassManager();
+        this.passiveEngine = new PassiveEngine(this, playerRegistry);
+        this.areaEngine = new AreaEffectEngine(this, playerRegistry);
+        this.classManager = new ClassManager(this, playerRegistry, passiveEngine);
+        this.phaseListeners = new PhaseListenerRegistry(this);
         this.gameManager = new GameManager(this); // Depends on others
 
         getCommand("nexus").setExecutor(new NexusCommand(this));
         getCommand("nexus").setTabCompleter(new NexusTabCompleter(this));
-        getServer().getPluginManager().registerEvents(new ClassListener(this), this);
-        getServer().getPluginManager().registerEvents(new ObjectiveListener(this), this);
-        getServer().getPluginManager().registerEvents(new GuiListener(this), this);
+        // Players already online after a reload
+        for (Player player : getServer().getOnlinePlayers()) {
+            playerRegistry.register(player);
+        }
+        cooldownService.start();
+        holoService.start();
+        this.metricsExporter = new MetricsExporter(this);
+        metricsExporter.start();
+
+        // Timed per listener, see /nexus perf
+        profiler.registerEvents(new PlayerListener(this));
+        profiler.registerEvents(new GuiListener(this));
+        // Untimed: the tick-end flush is already timed under "holo:flush"
+        getServer().getPluginManager().registerEvents(holoService, this);
+
+        // Match handlers are only registered while a game is running
+        phaseListeners.register(GameState.PLAYING, new ClassListener(this));
+        phaseListeners.register(GameState.PLAYING, new ObjectiveListener(this));
+        phaseListeners.enter(gameManager.getState());
 
         getLogger().info("Nexus Plugin has been enabled!");
     }
 
     @Override
     public void onDisable() {
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        if (cooldownService != null) {
+            cooldownService.stop();
+        }
+        if (holoService != null) {
+            holoService.stop();
+        }
+        if (passiveEngine != null) {
+            passiveEngine.stop();
+        }
+        if (areaEngine != null) {
+            areaEngine.stop();
+        }
         if (gameManager != null) {
             // cleanup handled by gameManager logic usually
         }
+        if (ratingStore != null) {
+            // Chained behind any save still running: it must be submitted before the executor shuts down
+            try {
+                ratingStore.save().get(FINAL_SAVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                getLogger().severe("Failed to save ratings.yml on shutdown: " + e.getMessage());
+            }
+        }
+        if (ioExecutor != null) {
+            // Lets pending copies, deletes and saves finish
+            ioExecutor.shutdown();
+        }
         getLogger().info("Nexus Plugin has been disabled.");
     }
 }
@@ -0,0 +1,31 @@
+package fr.heneria.nexus.classes;
+
+import lombok.Getter;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+
+public class Ability {
+
+    @Getter
+    private final String id;
+    // Position in its class, keys the ability's own cooldown
+    @Getter
+    private final int index;
+    @Getter
+    private final int cooldown; // Ticks
+    private final AbilityAction[] actions;
+
+    public Ability(String id, int index, int cooldown, List<AbilityAction> actions) {
+        this.id = id;
+        this.index = index;
+        this.cooldown = cooldown;
+        this.actions = actions.toArray(new AbilityAction[0]);
+    }
+
+    public void execute(Player player) {
+        for (AbilityAction action : actions) {
+            action.execute(player);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package fr.heneria.nexus.classes;
+
+import org.bukkit.entity.Player;
+
+/**
+ * One compiled step of an ability or passive, see {@link ActionCompiler}.
+ */
+@FunctionalInterface
+public interface AbilityAction {
+
+    void execute(Player player);
+}
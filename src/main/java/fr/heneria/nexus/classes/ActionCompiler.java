@@ -0,0 +1,118 @@
+package fr.heneria.nexus.classes;
+
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.game.area.AreaSpec;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns one entry of an {@code actions} list in classes.yml into an {@link AbilityAction}.
+ * Everything is resolved here, at load, so executing an action never parses anything.
+ */
+public class ActionCompiler {
+
+    private final NexusPlugin plugin;
+
+    public ActionCompiler(NexusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /** @return the compiled action, or null (with a warning) if the entry is invalid */
+    public AbilityAction compile(Map<?, ?> spec, String context) {
+        String type = string(spec, "type", "").toUpperCase(Locale.ROOT);
+        try {
+            switch (type) {
+                case "MESSAGE": {
+                    Component message = MiniMessage.miniMessage().deserialize(string(spec, "text", ""));
+                    return player -> player.sendMessage(message);
+                }
+                case "SOUND": {
+                    Sound sound = Sound.valueOf(string(spec, "sound", "").toUpperCase(Locale.ROOT));
+                    float volume = (float) number(spec, "volume", 1.0);
+                    float pitch = (float) number(spec, "pitch", 1.0);
+                    return player -> player.playSound(player.getLocation(), sound, volume, pitch);
+                }
+                case "EFFECT": {
+                    PotionEffectType effectType = Registry.EFFECT.get(NamespacedKey.minecraft(string(spec, "effect", "").toLowerCase(Locale.ROOT)));
+                    if (effectType == null) {
+                        throw new IllegalArgumentException("unknown effect " + spec.get("effect"));
+                    }
+                    PotionEffect effect = new PotionEffect(effectType, (int) number(spec, "duration", 100), (int) number(spec, "amplifier", 0));
+                    return player -> player.addPotionEffect(effect);
+                }
+                case "HEAL": {
+                    double amount = number(spec, "amount", 1.0);
+                    return player -> {
+                        double health = player.getHealth();
+                        double max = player.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue();
+                        if (health > 0 && health < max) {
+                            player.setHealth(Math.min(max, health + amount));
+                        }
+                    };
+                }
+                case "AREA": {
+                    AreaSpec area = compileArea(spec, context);
+                    return player -> plugin.getAreaEngine().cast(player, area);
+                }
+                default:
+                    plugin.getLogger().warning("Unknown action type '" + type + "' in " + context);
+                    return null;
+            }
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid " + type + " action in " + context + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private AreaSpec compileArea(Map<?, ?> spec, String context) {
+        AreaSpec.Shape shape = AreaSpec.Shape.valueOf(string(spec, "shape", "DOME").toUpperCase(Locale.ROOT));
+        AreaSpec.Targets targets = AreaSpec.Targets.valueOf(string(spec, "targets", "ALL").toUpperCase(Locale.ROOT));
+
+        BlockData visual = null;
+        if (spec.get("visual") != null) {
+            Material material = Material.matchMaterial(string(spec, "visual", ""));
+            if (material == null || !material.isBlock()) {
+                throw new IllegalArgumentException("visual must be a block: " + spec.get("visual"));
+            }
+            visual = material.createBlockData();
+        }
+
+        // Nested actions run on every player in the area
+        List<AbilityAction> actions = new ArrayList<>();
+        Object nested = spec.get("actions");
+        if (nested instanceof List<?> list) {
+            for (Object entry : list) {
+                if (entry instanceof Map<?, ?> map) {
+                    AbilityAction action = compile(map, context + ".area");
+                    if (action != null) actions.add(action);
+                }
+            }
+        }
+
+        return new AreaSpec(shape, targets, number(spec, "radius", 5.0), (int) number(spec, "duration", 100),
+                (int) number(spec, "period", 20), visual, actions);
+    }
+
+    static String string(Map<?, ?> spec, String key, String def) {
+        Object value = spec.get(key);
+        return value != null ? value.toString() : def;
+    }
+
+    static double number(Map<?, ?> spec, String key, double def) {
+        Object value = spec.get(key);
+        return value instanceof Number number ? number.doubleValue() : def;
+    }
+}
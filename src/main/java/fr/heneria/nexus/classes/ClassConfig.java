@@ -0,0 +1,135 @@
+package fr.heneria.nexus.classes;
+
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.cooldown.CooldownService;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Loads classes.yml and compiles every entry into a {@link ConfiguredClass}.
+ */
+public class ClassConfig {
+
+    private final NexusPlugin plugin;
+    private final File configFile;
+    private final ActionCompiler actionCompiler;
+
+    public ClassConfig(NexusPlugin plugin) {
+        this.plugin = plugin;
+        this.configFile = new File(plugin.getDataFolder(), "classes.yml");
+        this.actionCompiler = new ActionCompiler(plugin);
+    }
+
+    public List<NexusClass> load() {
+        if (!configFile.exists()) {
+            plugin.saveResource("classes.yml", false);
+        }
+        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+        List<NexusClass> classes = new ArrayList<>();
+
+        ConfigurationSection classesSection = config.getConfigurationSection("classes");
+        if (classesSection == null) return classes;
+
+        for (String key : classesSection.getKeys(false)) {
+            ConfigurationSection section = classesSection.getConfigurationSection(key);
+            if (section == null) continue;
+
+            String name = section.getString("name", key);
+            String description = section.getString("description", "");
+            double maxHealth = section.getDouble("max-health", 20.0);
+            float speed = (float) section.getDouble("speed", 0.2);
+
+            KitTemplate kit = parseKit(section.getConfigurationSection("kit"), key);
+            Map<Trigger, Map<Material, Ability>> abilities = parseAbilities(section.getConfigurationSection("abilities"), key);
+            List<AbilityAction> passive = parseActions(section.getMapList("passive"), key + ".passive");
+
+            classes.add(new ConfiguredClass(key.toLowerCase(Locale.ROOT), name, description, maxHealth, speed, kit, abilities, passive));
+        }
+        return classes;
+    }
+
+    private KitTemplate parseKit(ConfigurationSection section, String classId) {
+        KitTemplate.Builder builder = KitTemplate.builder();
+        if (section == null) return builder.build();
+
+        for (String itemName : section.getStringList("items")) {
+            Material material = parseMaterial(itemName, classId + ".kit.items");
+            if (material != null) builder.add(new ItemStack(material));
+        }
+
+        Material helmet = parseMaterial(section.getString("helmet"), classId + ".kit.helmet");
+        if (helmet != null) builder.helmet(new ItemStack(helmet));
+        Material chestplate = parseMaterial(section.getString("chestplate"), classId + ".kit.chestplate");
+        if (chestplate != null) builder.chestplate(new ItemStack(chestplate));
+        Material leggings = parseMaterial(section.getString("leggings"), classId + ".kit.leggings");
+        if (leggings != null) builder.leggings(new ItemStack(leggings));
+        Material boots = parseMaterial(section.getString("boots"), classId + ".kit.boots");
+        if (boots != null) builder.boots(new ItemStack(boots));
+        Material offHand = parseMaterial(section.getString("off-hand"), classId + ".kit.off-hand");
+        if (offHand != null) builder.offHand(new ItemStack(offHand));
+
+        return builder.build();
+    }
+
+    private Map<Trigger, Map<Material, Ability>> parseAbilities(ConfigurationSection section, String classId) {
+        Map<Trigger, Map<Material, Ability>> abilities = new EnumMap<>(Trigger.class);
+        if (section == null) return abilities;
+
+        int index = 0;
+        for (String abilityId : section.getKeys(false)) {
+            ConfigurationSection abilitySec = section.getConfigurationSection(abilityId);
+            if (abilitySec == null) continue;
+            String context = classId + ".abilities." + abilityId;
+
+            Trigger trigger;
+            try {
+                trigger = Trigger.valueOf(abilitySec.getString("trigger", "RIGHT_CLICK").toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Invalid trigger in " + context + ": " + abilitySec.getString("trigger"));
+                continue;
+            }
+            Material item = parseMaterial(abilitySec.getString("item"), context + ".item");
+            if (item == null) continue;
+            if (index == CooldownService.MAX_ABILITIES) {
+                plugin.getLogger().warning("Ability " + context + " ignored: a class may define at most " + CooldownService.MAX_ABILITIES + " abilities");
+                continue;
+            }
+
+            Ability ability = new Ability(abilityId, index++, abilitySec.getInt("cooldown", 0),
+                    parseActions(abilitySec.getMapList("actions"), context));
+            Ability previous = abilities.computeIfAbsent(trigger, t -> new EnumMap<>(Material.class)).put(item, ability);
+            if (previous != null) {
+                plugin.getLogger().warning("Ability " + context + " replaces " + previous.getId() + " on " + trigger + " + " + item);
+            }
+        }
+        return abilities;
+    }
+
+    private List<AbilityAction> parseActions(List<Map<?, ?>> specs, String context) {
+        List<AbilityAction> actions = new ArrayList<>();
+        for (Map<?, ?> spec : specs) {
+            AbilityAction action = actionCompiler.compile(spec, context);
+            if (action != null) actions.add(action);
+        }
+        return actions;
+    }
+
+    private Material parseMaterial(String name, String context) {
+        if (name == null) return null;
+        Material material = Material.matchMaterial(name);
+        if (material == null) {
+            plugin.getLogger().warning("Unknown material in " + context + ": " + name);
+        }
+        return material;
+    }
+}
@@ -1,35 +1,61 @@
 package fr.heneria.nexus.classes;
 
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.player.PlayerRegistry;
 import org.bukkit.entity.Player;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 public class ClassManager {
-    private final Map<UUID, NexusClass> playerClasses = new HashMap<>();
-    private final Map<String, NexusClass> availableClasses = new HashMap<>();
+    private final PlayerRegistry registry;
+    private final PassiveEngine passives;
+    // Index in this list is the class id stored in the registry's class column
+    private final List<NexusClass> classes = new ArrayList<>();
+    private final Map<String, Integer> availableClasses = new HashMap<>();
 
-    public ClassManager() {
-        registerClass(new Vanguard());
+    public ClassManager(NexusPlugin plugin, PlayerRegistry registry, PassiveEngine passives) {
+        this.registry = registry;
+        this.passives = passives;
+        for (NexusClass nexusClass : new ClassConfig(plugin).load()) {
+            registerClass(nexusClass);
+        }
+        plugin.getLogger().info("Loaded " + classes.size() + " classes from classes.yml");
     }
 
     private void registerClass(NexusClass nexusClass) {
-        availableClasses.put(nexusClass.getName().toLowerCase(), nexusClass);
+        int classId = classes.size();
+        availableClasses.put(nexusClass.getId(), classId);
+        classes.add(nexusClass);
+        passives.registerClass(classId, nexusClass);
     }
 
     public void equipClass(Player player, String className) {
-        NexusClass nexusClass = availableClasses.get(className.toLowerCase());
-        if (nexusClass != null) {
-            playerClasses.put(player.getUniqueId(), nexusClass);
-            nexusClass.onEquip(player);
+        Integer classId = availableClasses.get(className.toLowerCase());
+        if (classId != null) {
+            int slot = registry.getSlot(player);
+            passives.join(slot, classId); // Reads the previous class id, so before setClassId
+            registry.setClassId(slot, classId);
+            classes.get(classId).onEquip(player);
+        }
+    }
+
+    /** Puts a rejoining player, whose class the registry restored, back into the passive engine. */
+    public void handleJoin(Player player) {
+        int slot = registry.getSlot(player);
+        int classId = registry.getClassId(slot);
+        if (classId >= 0) {
+            passives.join(slot, classId);
         }
     }
 
     public NexusClass getClass(Player player) {
-        return playerClasses.get(player.getUniqueId());
+        int classId = registry.getClassId(registry.getSlot(player));
+        return classId >= 0 ? classes.get(classId) : null;
     }
 
     public boolean hasClass(Player player) {
-        return playerClasses.containsKey(player.getUniqueId());
+        return registry.getClassId(registry.getSlot(player)) >= 0;
     }
 }
@@ -0,0 +1,67 @@
+package fr.heneria.nexus.classes;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Material;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.entity.Player;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class compiled from classes.yml by {@link ClassConfig}.
+ * Abilities are looked up in one map per {@link Trigger}, keyed by held item.
+ */
+public class ConfiguredClass extends NexusClass {
+
+    private final KitTemplate kitTemplate;
+    private final Map<Material, Ability>[] dispatch;
+    private final AbilityAction[] passiveActions;
+
+    @SuppressWarnings("unchecked")
+    public ConfiguredClass(String id, String name, String description, double maxHealth, float baseSpeed,
+                           KitTemplate kitTemplate, Map<Trigger, Map<Material, Ability>> abilities, List<AbilityAction> passiveActions) {
+        super(id, name, description, maxHealth, baseSpeed);
+        this.kitTemplate = kitTemplate;
+        this.dispatch = new Map[Trigger.values().length];
+        for (Trigger trigger : Trigger.values()) {
+            Map<Material, Ability> bound = abilities.get(trigger);
+            dispatch[trigger.ordinal()] = bound != null ? new EnumMap<>(bound) : new EnumMap<>(Material.class);
+        }
+        this.passiveActions = passiveActions.toArray(new AbilityAction[0]);
+    }
+
+    @Override
+    public KitTemplate getKit() {
+        return kitTemplate;
+    }
+
+    @Override
+    public void onEquip(Player player) {
+        // Set Health
+        player.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(getMaxHealth());
+        player.setHealth(getMaxHealth());
+
+        // Set Speed (default walk speed is 0.2)
+        player.setWalkSpeed(getBaseSpeed());
+
+        // Replaces the whole inventory, armor included
+        getKit().apply(player);
+
+        player.sendMessage(Component.text("Vous avez équipé la classe " + getName() + ".", NamedTextColor.GREEN));
+    }
+
+    @Override
+    public Ability getAbility(Trigger trigger, Material item) {
+        return dispatch[trigger.ordinal()].get(item);
+    }
+
+    @Override
+    public void onPassive(Player player) {
+        for (AbilityAction action : passiveActions) {
+            action.execute(player);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package fr.heneria.nexus.classes;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Immutable inventory layout of a class, built once and applied with a single
+ * {@code setContents} of cloned stacks.
+ * <p>
+ * Slots follow {@link org.bukkit.inventory.PlayerInventory#getContents()}:
+ * 0-35 storage (0-8 hotbar), 36-39 boots to helmet, 40 off hand.
+ */
+public final class KitTemplate {
+
+    public static final int SIZE = 41;
+    private static final int STORAGE_SIZE = 36;
+    private static final int BOOTS = 36, LEGGINGS = 37, CHESTPLATE = 38, HELMET = 39, OFF_HAND = 40;
+
+    private final ItemStack[] contents;
+
+    private KitTemplate(ItemStack[] contents) {
+        this.contents = contents;
+    }
+
+    public void apply(Player player) {
+        ItemStack[] copy = new ItemStack[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ItemStack item = contents[i];
+            if (item != null) {
+                copy[i] = item.clone();
+            }
+        }
+        player.getInventory().setContents(copy);
+    }
+
+    /** @return a copy of the template stack in {@code slot}, or null if empty */
+    public ItemStack getItem(int slot) {
+        ItemStack item = contents[slot];
+        return item != null ? item.clone() : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final ItemStack[] contents = new ItemStack[SIZE];
+        private int nextFree;
+
+        /** Puts the item in the first free storage slot, hotbar first. */
+        public Builder add(ItemStack item) {
+            while (nextFree < STORAGE_SIZE && contents[nextFree] != null) nextFree++;
+            if (nextFree >= STORAGE_SIZE) {
+                throw new IllegalStateException("Kit storage is full");
+            }
+            contents[nextFree] = item.clone();
+            return this;
+        }
+
+        public Builder slot(int slot, ItemStack item) {
+            contents[slot] = item.clone();
+            return this;
+        }
+
+        public Builder helmet(ItemStack item) {
+            return slot(HELMET, item);
+        }
+
+        public Builder chestplate(ItemStack item) {
+            return slot(CHESTPLATE, item);
+        }
+
+        public Builder leggings(ItemStack item) {
+            return slot(LEGGINGS, item);
+        }
+
+        public Builder boots(ItemStack item) {
+            return slot(BOOTS, item);
+        }
+
+        public Builder offHand(ItemStack item) {
+            return slot(OFF_HAND, item);
+        }
+
+        public KitTemplate build() {
+            return new KitTemplate(contents.clone());
+        }
+    }
+}
@@ -2,17 +2,26 @@ package fr.heneria.nexus.classes;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 
 @Getter
 @RequiredArgsConstructor
 public abstract class NexusClass {
+    private final String id;
     private final String name;
     private final String description;
     private final double maxHealth;
     private final float baseSpeed;
 
+    /** Kit compiled once, when the class is loaded. */
+    public abstract KitTemplate getKit();
+
     public abstract void onEquip(Player player);
-    public abstract void onAbility(Player player);
-    public abstract void onPassive();
+
+    /** @return the ability bound to this trigger with this item in hand, or null */
+    public abstract Ability getAbility(Trigger trigger, Material item);
+
+    /** Called every {@link PassiveEngine#getPeriod()} ticks while the game is PLAYING. */
+    public abstract void onPassive(Player player);
 }
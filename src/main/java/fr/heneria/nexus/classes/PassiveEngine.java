@@ -0,0 +1,156 @@
+package fr.heneria.nexus.classes;
+
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.player.PlayerRegistry;
+import fr.heneria.nexus.scheduler.NexusTask;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs class passives from a single timer.
+ * <p>
+ * Equipped players are kept in one dense slot array per class. Every member
+ * gets {@link NexusClass#onPassive(Player)} once per {@code classes.passive-period}
+ * ticks, and members are spread over the ticks of the period (member i runs when
+ * tick % period == i % period), so the cost per tick stays flat.
+ */
+public class PassiveEngine {
+
+    private final NexusPlugin plugin;
+    private final PlayerRegistry registry;
+    @Getter
+    private final int period;
+
+    // Indexed by class id
+    private final List<NexusClass> classes = new ArrayList<>();
+    private final List<int[]> members = new ArrayList<>();
+    private int[] memberCounts = new int[4];
+    private long[] totalNanos = new long[4];
+    private long[] totalCalls = new long[4];
+
+    // Indexed by player slot: position in its class member array, -1 if none
+    private int[] memberIndex = new int[16];
+
+    private long tick;
+    private NexusTask task;
+
+    public PassiveEngine(NexusPlugin plugin, PlayerRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.period = Math.max(1, plugin.getConfig().getInt("classes.passive-period", 20));
+        Arrays.fill(memberIndex, -1);
+        registry.addReleaseHook(this::leave);
+    }
+
+    void registerClass(int classId, NexusClass nexusClass) {
+        classes.add(nexusClass);
+        members.add(new int[8]);
+        if (classId >= memberCounts.length) {
+            int size = Math.max(memberCounts.length << 1, classId + 1);
+            memberCounts = Arrays.copyOf(memberCounts, size);
+            totalNanos = Arrays.copyOf(totalNanos, size);
+            totalCalls = Arrays.copyOf(totalCalls, size);
+        }
+    }
+
+    /** Moves the slot into the member array of {@code classId}, leaving its previous class. */
+    public void join(int slot, int classId) {
+        if (slot < 0) return;
+        leave(slot);
+
+        if (slot >= memberIndex.length) {
+            int oldLength = memberIndex.length;
+            memberIndex = Arrays.copyOf(memberIndex, Math.max(oldLength << 1, slot + 1));
+            Arrays.fill(memberIndex, oldLength, memberIndex.length, -1);
+        }
+
+        int[] array = members.get(classId);
+        int count = memberCounts[classId];
+        if (count == array.length) {
+            array = Arrays.copyOf(array, count << 1);
+            members.set(classId, array);
+        }
+        array[count] = slot;
+        memberIndex[slot] = count;
+        memberCounts[classId] = count + 1;
+    }
+
+    /** Swap-removes the slot from its class; called when a player quits or changes class. */
+    public void leave(int slot) {
+        if (slot < 0 || slot >= memberIndex.length) return;
+        int index = memberIndex[slot];
+        if (index < 0) return;
+
+        int classId = registry.getClassId(slot);
+        int[] array = members.get(classId);
+        int last = --memberCounts[classId];
+        int moved = array[last];
+        array[index] = moved;
+        memberIndex[moved] = index;
+        memberIndex[slot] = -1;
+    }
+
+    public void start() {
+        stop();
+        tick = 0;
+        task = plugin.getScheduler().runGlobalTimer(plugin.getProfiler().wrap("classes:passives", this::tick), 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void tick() {
+        int phase = (int) (tick++ % period);
+
+        for (int classId = 0; classId < classes.size(); classId++) {
+            int count = memberCounts[classId];
+            if (phase >= count) continue;
+
+            NexusClass nexusClass = classes.get(classId);
+            int[] array = members.get(classId);
+            long start = System.nanoTime();
+            int calls = 0;
+
+            for (int i = phase; i < count; i += period) {
+                Player player = registry.getPlayer(array[i]);
+                if (player == null) continue;
+                nexusClass.onPassive(player);
+                calls++;
+            }
+
+            totalNanos[classId] += System.nanoTime() - start;
+            totalCalls[classId] += calls;
+        }
+    }
+
+    public List<NexusClass> getClasses() {
+        return classes;
+    }
+
+    public int getMemberCount(int classId) {
+        return memberCounts[classId];
+    }
+
+    public long getCalls(int classId) {
+        return totalCalls[classId];
+    }
+
+    /** Average cost of one passive call in microseconds. */
+    public double getAverageMicros(int classId) {
+        long calls = totalCalls[classId];
+        return calls == 0 ? 0 : totalNanos[classId] / 1000.0 / calls;
+    }
+
+    public void resetMetrics() {
+        Arrays.fill(totalNanos, 0);
+        Arrays.fill(totalCalls, 0);
+    }
+}
@@ -0,0 +1,20 @@
+package fr.heneria.nexus.classes;
+
+import org.bukkit.event.block.Action;
+
+/**
+ * Input that fires a class ability, together with the held item.
+ */
+public enum Trigger {
+    RIGHT_CLICK,
+    LEFT_CLICK;
+
+    /** @return the trigger for this interact action, or null for physical interactions */
+    public static Trigger fromAction(Action action) {
+        return switch (action) {
+            case RIGHT_CLICK_AIR, RIGHT_CLICK_BLOCK -> RIGHT_CLICK;
+            case LEFT_CLICK_AIR, LEFT_CLICK_BLOCK -> LEFT_CLICK;
+            default -> null;
+        };
+    }
+}
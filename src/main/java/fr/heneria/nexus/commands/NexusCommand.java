@@ -1,9 +1,15 @@
 package fr.heneria.nexus.commands;
 
 import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.classes.PassiveEngine;
 import fr.heneria.nexus.commands.subcommands.SetupCommand;
 import fr.heneria.nexus.game.GameState;
+import fr.heneria.nexus.io.IoExecutor;
+import fr.heneria.nexus.io.IoKind;
 import fr.heneria.nexus.map.NexusMap;
+import fr.heneria.nexus.perf.LatencyHistogram;
+import fr.heneria.nexus.perf.ProfileSection;
+import fr.heneria.nexus.perf.TickProfiler;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -45,6 +51,9 @@ public class NexusCommand implements CommandExecutor {
             sender.sendMessage(mm.deserialize("<gray>/nexus game <start|stop></gray> - <white>Gérer la partie</white>"));
             sender.sendMessage(mm.deserialize("<gray>/nexus map <load|unload></gray> - <white>Charger un monde</white>"));
             sender.sendMessage(mm.deserialize("<gray>/nexus setup editor <map_id></gray> - <white>Ouvrir le GUI de config</white>"));
+            sender.sendMessage(mm.deserialize("<gray>/nexus debug io</gray> - <white>État des tâches fichiers</white>"));
+            sender.sendMessage(mm.deserialize("<gray>/nexus debug passives [reset]</gray> - <white>Coût des passifs de classe</white>"));
+            sender.sendMessage(mm.deserialize("<gray>/nexus perf [on|off|reset]</gray> - <white>Temps passé par sous-système</white>"));
             return true;
         }
 
@@ -58,6 +67,11 @@ public class NexusCommand implements CommandExecutor {
                 try {
                     GameState state = GameState.valueOf(args[2].toUpperCase());
 
+                    if (plugin.getGameManager().isEnding()) {
+                        sender.sendMessage(Component.text("Impossible de changer d'état : la partie précédente se termine encore.", NamedTextColor.RED));
+                        return true;
+                    }
+
                     if (state == GameState.STARTING) {
                         NexusMap activeMap = plugin.getGameManager().getActiveMap();
                         if (activeMap == null) {
@@ -77,6 +91,32 @@ public class NexusCommand implements CommandExecutor {
                 }
                 return true;
             }
+            // /nexus debug passives
+            if (args.length >= 2 && args[1].equalsIgnoreCase("passives")) {
+                PassiveEngine passives = plugin.getPassiveEngine();
+                sender.sendMessage(Component.text("Passifs (période " + passives.getPeriod() + " ticks) :", NamedTextColor.GOLD));
+                for (int classId = 0; classId < passives.getClasses().size(); classId++) {
+                    sender.sendMessage(Component.text(String.format("%s : %d joueurs, %d appels, %.2f µs/appel",
+                            passives.getClasses().get(classId).getName(), passives.getMemberCount(classId),
+                            passives.getCalls(classId), passives.getAverageMicros(classId)), NamedTextColor.GRAY));
+                }
+                if (args.length >= 3 && args[2].equalsIgnoreCase("reset")) {
+                    passives.resetMetrics();
+                }
+                return true;
+            }
+            // /nexus debug io
+            if (args.length >= 2 && args[1].equalsIgnoreCase("io")) {
+                sender.sendMessage(Component.text("Tâches I/O (file / en cours / limite, attente et durée moyennes) :", NamedTextColor.GOLD));
+                for (IoKind kind : IoKind.values()) {
+                    IoExecutor.Metrics metrics = plugin.getIoExecutor().getMetrics(kind);
+                    sender.sendMessage(Component.text(String.format("%s : %d / %d / %d, attente %.1f ms, durée %.1f ms (max %.1f ms), %d terminées, %d échecs",
+                            kind, metrics.getQueued(), metrics.getRunning(), metrics.getLimit(),
+                            metrics.getAverageWaitMillis(), metrics.getAverageRunMillis(), metrics.getMaxRunMillis(),
+                            metrics.getCompleted(), metrics.getFailed()), NamedTextColor.GRAY));
+                }
+                return true;
+            }
         }
         // /nexus class choose <classname>
         else if (args[0].equalsIgnoreCase("class")) {
@@ -102,9 +142,7 @@ public class NexusCommand implements CommandExecutor {
                 plugin.getMapManager().loadMap(template).thenAccept(world -> {
                     sender.sendMessage(Component.text("Map chargée : " + world.getName(), NamedTextColor.GREEN));
                     if (sender instanceof Player player) {
-                        plugin.getServer().getScheduler().runTask(plugin, () -> {
-                             player.teleport(world.getSpawnLocation());
-                        });
+                        plugin.getScheduler().runFor(player, () -> player.teleportAsync(world.getSpawnLocation()));
                     }
                 }).exceptionally(e -> {
                     sender.sendMessage(Component.text("Echec du chargement de la map : " + e.getMessage(), NamedTextColor.RED));
@@ -118,6 +156,34 @@ public class NexusCommand implements CommandExecutor {
                 return true;
             }
         }
+        // /nexus perf [on|off|reset]
+        else if (args[0].equalsIgnoreCase("perf")) {
+            if (!sender.hasPermission("nexus.admin")) {
+                sender.sendMessage(Component.text("Vous n'avez pas la permission d'utiliser cette commande.", NamedTextColor.RED));
+                return true;
+            }
+            TickProfiler profiler = plugin.getProfiler();
+            if (args.length >= 2) {
+                switch (args[1].toLowerCase()) {
+                    case "on" -> {
+                        profiler.setEnabled(true);
+                        sender.sendMessage(Component.text("Profilage activé.", NamedTextColor.GREEN));
+                    }
+                    case "off" -> {
+                        profiler.setEnabled(false);
+                        sender.sendMessage(Component.text("Profilage désactivé.", NamedTextColor.YELLOW));
+                    }
+                    case "reset" -> {
+                        profiler.reset();
+                        sender.sendMessage(Component.text("Mesures réinitialisées.", NamedTextColor.GREEN));
+                    }
+                    default -> sender.sendMessage(Component.text("Usage: /nexus perf [on|off|reset]", NamedTextColor.RED));
+                }
+                return true;
+            }
+            showProfile(sender, profiler);
+            return true;
+        }
         // /nexus holo create <text>
         else if (args[0].equalsIgnoreCase("holo")) {
             if (!sender.hasPermission("nexus.admin")) {
@@ -150,4 +216,21 @@ public class NexusCommand implements CommandExecutor {
 
         return false;
     }
+
+    private void showProfile(CommandSender sender, TickProfiler profiler) {
+        if (!profiler.isEnabled()) {
+            sender.sendMessage(Component.text("Le profilage est désactivé (/nexus perf on).", NamedTextColor.YELLOW));
+            return;
+        }
+        int ticks = profiler.getElapsedTicks();
+        sender.sendMessage(Component.text("Profil Nexus sur " + ticks + " ticks (p50 / p99 / max en µs, appels par tick) :", NamedTextColor.GOLD));
+        for (ProfileSection section : profiler.getSections()) {
+            LatencyHistogram histogram = section.getHistogram();
+            long count = histogram.getCount();
+            if (count == 0) continue;
+            sender.sendMessage(Component.text(String.format("%s : %.1f / %.1f / %.1f, %.2f/tick",
+                    section.getName(), histogram.getPercentile(50) / 1000.0, histogram.getPercentile(99) / 1000.0,
+                    histogram.getMax() / 1000.0, (double) count / ticks), NamedTextColor.GRAY));
+        }
+    }
 }
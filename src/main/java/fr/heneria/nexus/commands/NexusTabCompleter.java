@@ -23,7 +23,7 @@ public class NexusTabCompleter implements TabCompleter {
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
         if (args.length == 1) {
-            return filter(Arrays.asList("game", "map", "holo", "setup", "help"), args[0]);
+            return filter(Arrays.asList("game", "map", "holo", "setup", "perf", "help"), args[0]);
         }
 
         if (args.length == 2) {
@@ -35,6 +35,9 @@ public class NexusTabCompleter implements TabCompleter {
                 sub.addAll(plugin.getMapManager().getMapConfig().getMaps().keySet());
                 return filter(sub, args[1]);
             }
+            if (args[0].equalsIgnoreCase("perf")) {
+                return filter(Arrays.asList("on", "off", "reset"), args[1]);
+            }
             if (args[0].equalsIgnoreCase("setup")) {
                 return filter(Arrays.asList("editor", "setspawn", "setnexus"), args[1]); // Added editor as per ticket
             }
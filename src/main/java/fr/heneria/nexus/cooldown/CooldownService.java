@@ -0,0 +1,206 @@
+package fr.heneria.nexus.cooldown;
+
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.player.PlayerRegistry;
+import org.bukkit.entity.Player;
+import fr.heneria.nexus.scheduler.NexusTask;
+
+import java.util.Arrays;
+
+/**
+ * Tick-based cooldowns keyed by player slot and {@link CooldownType}, plus one
+ * cooldown per class ability (by {@link fr.heneria.nexus.classes.Ability#getIndex()}).
+ * <p>
+ * Expiry ticks live in a flat array, so a check is one array read. A hashed
+ * timing wheel clears entries as they expire, which keeps the active count
+ * exact without ever scanning the whole table. Arrays only grow when a new
+ * slot is handed out, so checking and arming never allocate.
+ */
+public class CooldownService {
+
+    /** Abilities a class may define, each with its own cooldown. */
+    public static final int MAX_ABILITIES = 16;
+    private static final int TYPES = CooldownType.values().length;
+    // Keys per slot: the typed cooldowns, then the ability cooldowns
+    private static final int STRIDE = TYPES + MAX_ABILITIES;
+    private static final int WHEEL_SIZE = 256; // Power of two
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final NexusPlugin plugin;
+    private final PlayerRegistry registry;
+
+    private long currentTick;
+    private long[] expiries = new long[16 * STRIDE]; // 0 = not on cooldown
+    private boolean[] scheduled = new boolean[16 * STRIDE];
+    private final int[][] buckets = new int[WHEEL_SIZE][];
+    private final int[] bucketSizes = new int[WHEEL_SIZE];
+    private int[] spareBucket = new int[8];
+    private int activeCount;
+    private NexusTask tickTask;
+
+    public CooldownService(NexusPlugin plugin, PlayerRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets[i] = new int[8];
+        }
+        registry.addReleaseHook(this::clear);
+    }
+
+    public void start() {
+        if (tickTask != null) tickTask.cancel();
+        tickTask = plugin.getScheduler().runGlobalTimer(plugin.getProfiler().wrap("cooldowns", this::tick), 1L, 1L);
+    }
+
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    public boolean isOnCooldown(Player player, CooldownType type) {
+        int slot = registry.getSlot(player);
+        return slot >= 0 && isOnCooldown(slot, type);
+    }
+
+    public boolean isOnCooldown(int slot, CooldownType type) {
+        return isRunning(key(slot, type));
+    }
+
+    /** Remaining ticks, 0 when the cooldown is over. */
+    public long getRemaining(int slot, CooldownType type) {
+        int key = key(slot, type);
+        if (key >= expiries.length) return 0;
+        return Math.max(0, expiries[key] - currentTick);
+    }
+
+    /**
+     * Arms the cooldown if it is not running.
+     *
+     * @return true if the action may proceed
+     */
+    public boolean tryAcquire(Player player, CooldownType type, int ticks) {
+        int slot = registry.getSlot(player);
+        return slot < 0 || tryAcquire(slot, type, ticks);
+    }
+
+    public boolean tryAcquire(int slot, CooldownType type, int ticks) {
+        return tryAcquire(key(slot, type), ticks);
+    }
+
+    /**
+     * Arms the cooldown of one class ability if it is not running.
+     *
+     * @param ability index of the ability in its class, below {@link #MAX_ABILITIES}
+     * @return true if the ability may be cast
+     */
+    public boolean tryAcquireAbility(Player player, int ability, int ticks) {
+        int slot = registry.getSlot(player);
+        return slot < 0 || tryAcquireAbility(slot, ability, ticks);
+    }
+
+    public boolean tryAcquireAbility(int slot, int ability, int ticks) {
+        return tryAcquire(abilityKey(slot, ability), ticks);
+    }
+
+    public boolean isAbilityOnCooldown(int slot, int ability) {
+        return isRunning(abilityKey(slot, ability));
+    }
+
+    public void set(int slot, CooldownType type, int ticks) {
+        set(key(slot, type), ticks);
+    }
+
+    private boolean isRunning(int key) {
+        return key < expiries.length && expiries[key] > currentTick;
+    }
+
+    private boolean tryAcquire(int key, int ticks) {
+        if (isRunning(key)) return false;
+        set(key, ticks);
+        return true;
+    }
+
+    private void set(int key, int ticks) {
+        if (ticks <= 0) return;
+        ensureCapacity(key);
+
+        if (expiries[key] == 0) activeCount++;
+        long expiry = currentTick + ticks;
+        expiries[key] = expiry;
+
+        // An entry already in the wheel re-files itself when it fires early
+        if (!scheduled[key]) {
+            scheduled[key] = true;
+            schedule(key, expiry);
+        }
+    }
+
+    public void clear(int slot) {
+        for (int offset = 0; offset < STRIDE; offset++) {
+            int key = slot * STRIDE + offset;
+            if (key < expiries.length && expiries[key] != 0) {
+                expiries[key] = 0;
+                activeCount--;
+            }
+        }
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /** Advances one tick; driven by {@link #start()}. */
+    public void tick() {
+        currentTick++;
+        int index = (int) (currentTick & WHEEL_MASK);
+        int[] bucket = buckets[index];
+        int size = bucketSizes[index];
+        // Swap in an empty array: entries a full lap away are re-filed into this same index
+        buckets[index] = spareBucket;
+        bucketSizes[index] = 0;
+
+        for (int i = 0; i < size; i++) {
+            int key = bucket[i];
+            long expiry = expiries[key];
+            if (expiry > currentTick) {
+                // Re-armed, or more than one wheel lap away
+                schedule(key, expiry);
+                continue;
+            }
+            if (expiry != 0) {
+                expiries[key] = 0;
+                activeCount--;
+            }
+            scheduled[key] = false;
+        }
+        spareBucket = bucket;
+    }
+
+    private void schedule(int key, long expiry) {
+        int index = (int) (expiry & WHEEL_MASK);
+        int size = bucketSizes[index];
+        if (size == buckets[index].length) {
+            buckets[index] = Arrays.copyOf(buckets[index], size << 1);
+        }
+        buckets[index][size] = key;
+        bucketSizes[index] = size + 1;
+    }
+
+    private void ensureCapacity(int key) {
+        if (key < expiries.length) return;
+        int capacity = Math.max(expiries.length << 1, (registry.getCapacity() + 1) * STRIDE);
+        while (capacity <= key) capacity <<= 1;
+        expiries = Arrays.copyOf(expiries, capacity);
+        scheduled = Arrays.copyOf(scheduled, capacity);
+    }
+
+    private static int key(int slot, CooldownType type) {
+        return slot * STRIDE + type.ordinal();
+    }
+
+    private static int abilityKey(int slot, int ability) {
+        return slot * STRIDE + TYPES + ability;
+    }
+}
@@ -0,0 +1,6 @@
+package fr.heneria.nexus.cooldown;
+
+public enum CooldownType {
+    NEXUS_HIT,
+    MESSAGE_THROTTLE
+}
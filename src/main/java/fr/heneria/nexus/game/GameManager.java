@@ -2,6 +2,8 @@ package fr.heneria.nexus.game;
 
 import fr.heneria.nexus.NexusPlugin;
 import fr.heneria.nexus.game.team.GameTeam;
+import fr.heneria.nexus.game.team.TeamBalancer;
+import fr.heneria.nexus.jfr.StateTransitionEvent;
 import fr.heneria.nexus.map.NexusMap;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -14,7 +16,9 @@ import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public class GameManager {
     private final NexusPlugin plugin;
@@ -22,18 +26,31 @@ public class GameManager {
     private GameState state;
     @Getter @Setter
     private NexusMap activeMap;
+    // True from END until the arena world is unloaded, once everyone is back in the lobby
+    @Getter
+    private boolean ending;
+    private final TeleportScheduler teleportScheduler;
 
     public GameManager(NexusPlugin plugin) {
         this.plugin = plugin;
+        this.teleportScheduler = new TeleportScheduler(plugin);
         this.state = GameState.LOBBY;
     }
 
     public void setState(GameState state) {
         // If we are already STARTING, don't re-trigger STARTING logic if called again, but we might transition.
         if (this.state == state) return;
+        if (ending) {
+            plugin.getLogger().warning("Ignoring state change to " + state + ": the previous match is still ending.");
+            return;
+        }
 
+        StateTransitionEvent event = new StateTransitionEvent();
+        event.begin();
+        GameState previous = this.state;
         this.state = state;
         plugin.getLogger().info("Game State changed to: " + state);
+        plugin.getPhaseListeners().enter(state);
 
         switch (state) {
             case STARTING:
@@ -49,12 +66,20 @@ public class GameManager {
             default:
                 break;
         }
+
+        if (event.shouldCommit()) {
+            event.from = previous.name();
+            event.to = state.name();
+            event.mapId = activeMap != null ? activeMap.getId() : null;
+            event.players = Bukkit.getOnlinePlayers().size();
+            event.commit();
+        }
     }
 
     private void handleStarting() {
         if (activeMap == null) {
             plugin.getLogger().warning("Aucune map active. Veuillez charger une map avec /nexus map load.");
-            plugin.getServer().getScheduler().runTask(plugin, () -> this.setState(GameState.LOBBY));
+            plugin.getScheduler().runGlobal(() -> this.setState(GameState.LOBBY));
             return;
         }
 
@@ -68,13 +93,13 @@ public class GameManager {
              // But just in case, we can try loading it.
              plugin.getLogger().info("World not loaded, loading map " + activeMap.getId());
              plugin.getMapManager().loadMap(activeMap.getId()).thenAccept(world -> {
-                 plugin.getServer().getScheduler().runTask(plugin, () -> {
+                 plugin.getScheduler().runGlobal(() -> {
                      plugin.getObjectiveManager().loadObjectives(activeMap, world);
                      setState(GameState.PLAYING);
                  });
              }).exceptionally(e -> {
                 plugin.getLogger().severe("Failed to load map: " + e.getMessage());
-                plugin.getServer().getScheduler().runTask(plugin, () -> this.setState(GameState.LOBBY));
+                plugin.getScheduler().runGlobal(() -> this.setState(GameState.LOBBY));
                 return null;
              });
              return;
@@ -83,7 +108,7 @@ public class GameManager {
         plugin.getObjectiveManager().loadObjectives(activeMap, activeWorld);
         // Automatically transition to PLAYING
         // Maybe add a countdown here? For now, immediate transition as per previous code style
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> setState(GameState.PLAYING), 20L); // Small delay
+        plugin.getScheduler().runGlobalLater(() -> setState(GameState.PLAYING), 20L); // Small delay
     }
 
     private void handlePlaying() {
@@ -92,6 +117,7 @@ public class GameManager {
             plugin.getLogger().severe("Cannot start game: Map not loaded (World is null).");
             return;
         }
+        plugin.getPlayerRegistry().setKeepDeparted(true);
 
         NexusMap map = activeMap;
         if (map == null) {
@@ -102,67 +128,116 @@ public class GameManager {
 
         Location fallbackSpawn = new Location(world, 0.5, 100, 0.5);
 
-        // Assign Teams
+        // Assign Teams, balanced on persisted ratings (shuffled first so equal ratings still mix)
         List<Player> players = new ArrayList<>(Bukkit.getOnlinePlayers());
         Collections.shuffle(players);
 
-        int teamSize = (int) Math.ceil(players.size() / 2.0);
+        double[] ratings = new double[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            ratings[i] = plugin.getRatingStore().getRating(players.get(i).getUniqueId());
+        }
+        // No party system yet: every player is their own group
+        byte[] sides = TeamBalancer.partition(ratings, TeamBalancer.singletons(players.size()));
+
+        GameTeam[] teams = new GameTeam[players.size()];
         for (int i = 0; i < players.size(); i++) {
             Player p = players.get(i);
-            GameTeam team = (i < teamSize) ? GameTeam.BLUE : GameTeam.RED;
+            GameTeam team = sides[i] == 0 ? GameTeam.BLUE : GameTeam.RED;
+            teams[i] = team;
             plugin.getTeamManager().addPlayerToTeam(p, team);
 
             p.sendMessage(Component.text("Vous avez rejoint l'équipe ", NamedTextColor.GRAY)
                     .append(Component.text(team.getName(), team.getColor())));
+        }
 
-            // Teleport to Team Spawn
-            Location teamSpawn = fallbackSpawn;
+        // One spawn per team, resolved once instead of per player
+        Map<GameTeam, Location> spawns = new EnumMap<>(GameTeam.class);
+        for (GameTeam team : GameTeam.values()) {
+            Location teamSpawn = fallbackSpawn.clone();
             if (map.getTeamSpawns() != null && map.getTeamSpawns().containsKey(team)) {
                 teamSpawn = map.getTeamSpawns().get(team).toLocation(world);
             }
-
-            // Fix Spawn Safety
-            teamSpawn.getWorld().getChunkAt(teamSpawn).load();
-            if (teamSpawn.getBlock().getType().isAir() && teamSpawn.clone().subtract(0, 1, 0).getBlock().getType().isAir()) {
-                 plugin.getLogger().warning("Unsafe spawn detected at " + teamSpawn + ". Adjusting...");
-                 teamSpawn.setY(teamSpawn.getWorld().getHighestBlockYAt(teamSpawn) + 1);
-            }
-
-            plugin.getLogger().info("[Nexus] Teleporting player " + p.getName() + " to " + team.getName() + " spawn: " + teamSpawn.toVector() + " in world " + teamSpawn.getWorld().getName());
-            p.teleportAsync(teamSpawn);
-
-            // Give kit (TODO: using ClassManager later, for now just empty)
+            spawns.put(team, teamSpawn);
         }
-
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            player.sendMessage(Component.text("La partie commence !", NamedTextColor.GREEN));
+        // Resolved now from the assignment above: a player may quit (and lose their team) during the preload
+        List<Location> destinations = new ArrayList<>(players.size());
+        for (GameTeam team : teams) {
+            destinations.add(spawns.get(team));
         }
 
-        // Start Objective Loops
-        plugin.getObjectiveManager().startLoops();
+        teleportScheduler.loadChunks(spawns.values()).thenCompose(ignored -> {
+            // Fix Spawn Safety, chunks are loaded at this point
+            for (Location teamSpawn : spawns.values()) {
+                if (teamSpawn.getBlock().getType().isAir() && teamSpawn.clone().subtract(0, 1, 0).getBlock().getType().isAir()) {
+                    plugin.getLogger().warning("Unsafe spawn detected at " + teamSpawn + ". Adjusting...");
+                    teamSpawn.setY(teamSpawn.getWorld().getHighestBlockYAt(teamSpawn) + 1);
+                }
+            }
+            plugin.getLogger().info("[Nexus] Teleporting " + players.size() + " players to team spawns in world " + world.getName());
+            return teleportScheduler.teleport(players, destinations);
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to teleport players to spawns: " + error.getMessage());
+            }
+            // The game may have been stopped while players were still being teleported
+            if (state != GameState.PLAYING) return;
+
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                player.sendMessage(Component.text("La partie commence !", NamedTextColor.GREEN));
+            }
 
-        // Ideally this hologram logic should be dynamic or managed by ObjectiveManager/HoloService better
-        // But keeping it here as per previous code logic
-        plugin.getHoloService().createHologram(fallbackSpawn, Collections.singletonList(
-                Component.text("Bienvenue sur Nexus", NamedTextColor.AQUA)
-        ));
+            // Start Objective Loops
+            plugin.getObjectiveManager().startLoops();
+            plugin.getPassiveEngine().start();
+            plugin.getAreaEngine().start();
+
+            // Ideally this hologram logic should be dynamic or managed by ObjectiveManager/HoloService better
+            // But keeping it here as per previous code logic
+            plugin.getHoloService().createHologram(fallbackSpawn, Collections.singletonList(
+                    Component.text("Bienvenue sur Nexus", NamedTextColor.AQUA)
+            ));
+        });
     }
 
     private void handleEnd() {
+        plugin.getMetrics().getMatchesPlayed().increment();
+        // Rate the match before the team assignments are cleared
+        plugin.getRatingStore().recordMatch(plugin.getTeamManager().getPlayerTeams(), plugin.getObjectiveManager().getLeadingTeam());
+        plugin.getRatingStore().save();
         // Stop Objective Loops
         plugin.getObjectiveManager().stopLoops();
+        plugin.getPassiveEngine().stop();
+        plugin.getAreaEngine().stop();
+        // Prepare the next map of the rotation while players head back to the lobby
+        plugin.getMapManager().prefetchNext();
 
         World lobby = Bukkit.getWorlds().get(0);
         Location lobbySpawn = lobby.getSpawnLocation();
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            player.teleport(lobbySpawn);
+        List<Player> players = new ArrayList<>(Bukkit.getOnlinePlayers());
+        for (Player player : players) {
             player.sendMessage(Component.text("La partie est terminée.", NamedTextColor.RED));
-            plugin.getTeamManager().removePlayer(player);
         }
-
+        plugin.getTeamManager().clear();
+        plugin.getPlayerRegistry().setKeepDeparted(false);
         plugin.getHoloService().removeAll();
-        plugin.getMapManager().unloadWorld();
-        this.activeMap = null;
+
+        // The arena world can only be unloaded once everyone has left it
+        World endingWorld = plugin.getMapManager().getCurrentWorld();
+        NexusMap endingMap = activeMap;
+        ending = true;
+        teleportScheduler.teleport(players, p -> lobbySpawn).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Failed to teleport players to the lobby: " + error.getMessage());
+            }
+            ending = false;
+            // Only what this match used: the world may have been unloaded by hand meanwhile
+            if (endingWorld != null && plugin.getMapManager().getCurrentWorld() == endingWorld) {
+                plugin.getMapManager().unloadWorld();
+            }
+            if (activeMap == endingMap) {
+                this.activeMap = null;
+            }
+        });
     }
 }
@@ -0,0 +1,48 @@
+package fr.heneria.nexus.game;
+
+import fr.heneria.nexus.NexusPlugin;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listeners that only matter during one {@link GameState}. They are registered
+ * with Bukkit when the game enters that phase and unregistered when it leaves,
+ * so idle phases don't pay for match handlers.
+ */
+public class PhaseListenerRegistry {
+
+    private final NexusPlugin plugin;
+    private final Map<GameState, List<Listener>> listeners = new EnumMap<>(GameState.class);
+    private GameState activePhase;
+
+    public PhaseListenerRegistry(NexusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void register(GameState phase, Listener listener) {
+        listeners.computeIfAbsent(phase, k -> new ArrayList<>()).add(listener);
+        if (phase == activePhase) {
+            plugin.getProfiler().registerEvents(listener);
+        }
+    }
+
+    public void enter(GameState phase) {
+        if (phase == activePhase) return;
+
+        if (activePhase != null) {
+            for (Listener listener : listeners.getOrDefault(activePhase, List.of())) {
+                HandlerList.unregisterAll(listener);
+            }
+        }
+
+        activePhase = phase;
+        for (Listener listener : listeners.getOrDefault(phase, List.of())) {
+            plugin.getProfiler().registerEvents(listener);
+        }
+    }
+}
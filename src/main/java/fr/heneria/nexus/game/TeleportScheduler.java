@@ -0,0 +1,112 @@
+package fr.heneria.nexus.game;
+
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.jfr.TeleportWaveEvent;
+import fr.heneria.nexus.scheduler.NexusTask;
+import fr.heneria.nexus.utils.LongHashSet;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Teleports groups of players in waves of {@code teleport.players-per-tick},
+ * after every destination chunk has been loaded asynchronously.
+ */
+public class TeleportScheduler {
+
+    private final NexusPlugin plugin;
+
+    public TeleportScheduler(NexusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * @param destinationFor may return null for a player who should stay put
+     * @return a future completed on the main thread once every player has landed
+     *         (players who quit in the meantime are skipped)
+     */
+    public CompletableFuture<Void> teleport(List<Player> players, Function<Player, Location> destinationFor) {
+        List<Location> destinations = new ArrayList<>(players.size());
+        for (Player player : players) {
+            destinations.add(player.isOnline() ? destinationFor.apply(player) : null);
+        }
+        return teleport(players, destinations);
+    }
+
+    /** @param destinations destination of each player, by index; null entries are skipped */
+    public CompletableFuture<Void> teleport(List<Player> players, List<Location> destinations) {
+        return loadChunks(destinations).thenCompose(ignored -> runWaves(players, destinations));
+    }
+
+    /** Loads each distinct chunk once, whatever the number of players heading there. Null locations are skipped. */
+    public CompletableFuture<Void> loadChunks(Iterable<Location> locations) {
+        Map<World, LongHashSet> seen = new HashMap<>();
+        List<CompletableFuture<Chunk>> loads = new ArrayList<>();
+        for (Location loc : locations) {
+            if (loc == null || loc.getWorld() == null) continue;
+            int chunkX = loc.getBlockX() >> 4;
+            int chunkZ = loc.getBlockZ() >> 4;
+            long key = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+            if (seen.computeIfAbsent(loc.getWorld(), w -> new LongHashSet()).add(key)) {
+                loads.add(loc.getWorld().getChunkAtAsync(chunkX, chunkZ));
+            }
+        }
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> runWaves(List<Player> players, List<Location> destinations) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        int perTick = Math.max(1, plugin.getConfig().getInt("teleport.players-per-tick", 8));
+        long startTime = System.nanoTime();
+        TeleportWaveEvent event = new TeleportWaveEvent();
+        event.begin();
+
+        List<CompletableFuture<Boolean>> teleports = new ArrayList<>(players.size());
+        NexusTask[] task = new NexusTask[1];
+        int[] next = {0};
+
+        task[0] = plugin.getScheduler().runGlobalTimer(plugin.getProfiler().wrap("game:teleport-wave", () -> {
+            int end = Math.min(players.size(), next[0] + perTick);
+            for (int i = next[0]; i < end; i++) {
+                Player player = players.get(i);
+                Location destination = destinations.get(i);
+                if (destination != null && player.isOnline()) {
+                    teleports.add(player.teleportAsync(destination));
+                }
+            }
+            next[0] = end;
+
+            if (end >= players.size()) {
+                task[0].cancel();
+                CompletableFuture.allOf(teleports.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+                    int waves = (players.size() + perTick - 1) / perTick;
+                    long elapsed = System.nanoTime() - startTime;
+                    plugin.getMetrics().getTeleportWave().record(elapsed);
+                    if (event.shouldCommit()) {
+                        event.players = teleports.size();
+                        event.waves = waves;
+                        event.playersPerTick = perTick;
+                        event.commit();
+                    }
+                    plugin.getLogger().info("Teleported " + teleports.size() + " players in " + waves + " waves ("
+                            + elapsed / 1_000_000 + " ms)");
+                    if (error != null) {
+                        done.completeExceptionally(error);
+                    } else {
+                        done.complete(null);
+                    }
+                });
+            }
+        }), 1L, 1L);
+
+        return done;
+    }
+}
@@ -0,0 +1,189 @@
+package fr.heneria.nexus.game.area;
+
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.classes.AbilityAction;
+import fr.heneria.nexus.game.team.GameTeam;
+import fr.heneria.nexus.player.PlayerRegistry;
+import fr.heneria.nexus.scheduler.NexusTask;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Transformation;
+import org.joml.AxisAngle4f;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Ticks active area effects (domes, auras) while the game is PLAYING.
+ * <p>
+ * Targets come from one {@link SpatialGrid} per world, rebuilt at most once per
+ * tick and shared by every effect, so ten overlapping domes cost one pass over
+ * the players plus ten small cell lookups. Visuals are pooled BlockDisplays
+ * from the HoloService.
+ */
+public class AreaEffectEngine {
+
+    private final NexusPlugin plugin;
+    private final PlayerRegistry registry;
+    private final Map<World, SpatialGrid> grids = new HashMap<>();
+    private final List<ActiveEffect> effects = new ArrayList<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private NexusTask task;
+
+    public AreaEffectEngine(NexusPlugin plugin, PlayerRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+    }
+
+    public void start() {
+        stop();
+        task = plugin.getScheduler().runGlobalTimer(plugin.getProfiler().wrap("area:effects", this::tick), 1L, 1L);
+    }
+
+    /** Stops ticking and ends every active effect. */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (ActiveEffect effect : effects) {
+            effect.releaseVisual();
+        }
+        effects.clear();
+        grids.clear();
+    }
+
+    public void cast(Player caster, AreaSpec spec) {
+        if (task == null) return; // Only while the game runs
+
+        int slot = registry.getSlot(caster);
+        if (slot < 0) return;
+
+        Location loc = caster.getLocation();
+        ActiveEffect effect = new ActiveEffect(spec, caster, slot, registry.getTeam(slot), loc);
+        if (spec.getVisual() != null) {
+            effect.display = plugin.getHoloService().acquireBlockDisplay(loc, spec.getVisual());
+            float size = (float) (spec.getRadius() * 2);
+            float offset = (float) -spec.getRadius();
+            effect.display.setInterpolationDuration(0);
+            effect.display.setTeleportDuration(spec.getShape() == AreaSpec.Shape.AURA ? 1 : 0);
+            effect.display.setTransformation(new Transformation(
+                    new Vector3f(offset, offset, offset),
+                    new AxisAngle4f(0, 0, 1, 0),
+                    new Vector3f(size, size, size),
+                    new AxisAngle4f(0, 0, 1, 0)
+            ));
+        }
+        effects.add(effect);
+    }
+
+    /** Grid of {@code world}, up to date for the current tick. */
+    public SpatialGrid getGrid(World world) {
+        SpatialGrid grid = grids.computeIfAbsent(world, w -> new SpatialGrid(registry, w));
+        grid.update(plugin.getServer().getCurrentTick());
+        return grid;
+    }
+
+    public int getActiveCount() {
+        return effects.size();
+    }
+
+    private void tick() {
+        for (int i = effects.size() - 1; i >= 0; i--) {
+            ActiveEffect effect = effects.get(i);
+            if (!effect.tick()) {
+                effect.releaseVisual();
+                // Swap-remove, order doesn't matter
+                int last = effects.size() - 1;
+                effects.set(i, effects.get(last));
+                effects.remove(last);
+            }
+        }
+    }
+
+    private final class ActiveEffect implements IntConsumer {
+        private final AreaSpec spec;
+        private final Player caster;
+        private final int casterSlot;
+        private final GameTeam casterTeam;
+        private final World world;
+        private final Location visualLocation; // Reused for every AURA visual move
+        private double x, y, z;
+        private int age;
+        private BlockDisplay display;
+
+        private ActiveEffect(AreaSpec spec, Player caster, int casterSlot, GameTeam casterTeam, Location origin) {
+            this.spec = spec;
+            this.caster = caster;
+            this.casterSlot = casterSlot;
+            this.casterTeam = casterTeam;
+            this.world = origin.getWorld();
+            this.x = origin.getX();
+            this.y = origin.getY();
+            this.z = origin.getZ();
+            this.visualLocation = new Location(world, x, y, z);
+        }
+
+        /** @return false once the effect is over */
+        private boolean tick() {
+            if (spec.getShape() == AreaSpec.Shape.AURA) {
+                // The slot may have been handed to someone else since the cast
+                if (registry.getPlayer(casterSlot) != caster) return false;
+                Location loc = caster.getLocation(scratch);
+                if (loc.getWorld() != world) return false;
+                if (loc.getX() != x || loc.getY() != y || loc.getZ() != z) {
+                    x = loc.getX();
+                    y = loc.getY();
+                    z = loc.getZ();
+                    if (display != null) {
+                        display.teleport(visualLocation.set(x, y, z));
+                    }
+                }
+            }
+
+            if (age % spec.getPeriod() == 0) {
+                getGrid(world).query(x, y, z, spec.getRadius(), this);
+            }
+            return ++age < spec.getDuration();
+        }
+
+        // Grid visitor: applies the actions to every matching player in range
+        @Override
+        public void accept(int slot) {
+            if (!isTarget(slot)) return;
+            Player target = registry.getPlayer(slot);
+            if (target == null) return;
+            apply(target);
+        }
+
+        private boolean isTarget(int slot) {
+            switch (spec.getTargets()) {
+                case ALLIES:
+                    return slot == casterSlot || (casterTeam != null && registry.getTeam(slot) == casterTeam);
+                case ENEMIES:
+                    return slot != casterSlot && (casterTeam == null || registry.getTeam(slot) != casterTeam);
+                default:
+                    return true;
+            }
+        }
+
+        private void apply(Player target) {
+            for (AbilityAction action : spec.getActions()) {
+                action.execute(target);
+            }
+        }
+
+        private void releaseVisual() {
+            if (display != null) {
+                plugin.getHoloService().releaseBlockDisplay(display);
+                display = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package fr.heneria.nexus.game.area;
+
+import fr.heneria.nexus.classes.AbilityAction;
+import lombok.Getter;
+import org.bukkit.block.data.BlockData;
+
+import java.util.List;
+
+/**
+ * Compiled description of an area effect (an {@code AREA} action in classes.yml).
+ * One instance is shared by every cast.
+ */
+@Getter
+public class AreaSpec {
+
+    public enum Shape {
+        DOME, // Stays where it was cast
+        AURA  // Follows the caster
+    }
+
+    public enum Targets {
+        ALLIES,
+        ENEMIES,
+        ALL
+    }
+
+    private final Shape shape;
+    private final Targets targets;
+    private final double radius;
+    private final int duration; // Ticks
+    private final int period;   // Ticks between two applications
+    private final BlockData visual; // Null for no visual
+    private final AbilityAction[] actions;
+
+    public AreaSpec(Shape shape, Targets targets, double radius, int duration, int period, BlockData visual, List<AbilityAction> actions) {
+        this.shape = shape;
+        this.targets = targets;
+        this.radius = radius;
+        this.duration = Math.max(1, duration);
+        this.period = Math.max(1, period);
+        this.visual = visual;
+        this.actions = actions.toArray(new AbilityAction[0]);
+    }
+}
@@ -0,0 +1,117 @@
+package fr.heneria.nexus.game.area;
+
+import fr.heneria.nexus.player.PlayerRegistry;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid of the players of one world, rebuilt at most once per tick.
+ * <p>
+ * Each player is one long: 8-block cell key (23 bits per axis) above the
+ * registry slot (16 bits). The array is sorted, so a cell is a contiguous run
+ * found by binary search. A radius query visits only the cells it overlaps,
+ * then checks exact distance against positions cached at rebuild. Nothing is
+ * allocated once the arrays have grown to the player count.
+ */
+public class SpatialGrid {
+
+    private static final int CELL_SHIFT = 3; // 8-block cells
+    private static final int COORD_BITS = 23;
+    private static final int COORD_OFFSET = 1 << (COORD_BITS - 1);
+    private static final int SLOT_BITS = 16;
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+
+    private final PlayerRegistry registry;
+    private final World world;
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    private long[] entries = new long[64];
+    private int size;
+    private int builtTick = -1;
+
+    // Indexed by slot, valid for the slots present in entries
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+    private double[] zs = new double[16];
+
+    public SpatialGrid(PlayerRegistry registry, World world) {
+        this.registry = registry;
+        this.world = world;
+    }
+
+    /** Rebuilds the grid unless it was already built during {@code tick}. */
+    public void update(int tick) {
+        if (tick == builtTick) return;
+        builtTick = tick;
+
+        int capacity = registry.getCapacity();
+        if (capacity > xs.length) {
+            int length = Math.max(xs.length << 1, capacity);
+            xs = Arrays.copyOf(xs, length);
+            ys = Arrays.copyOf(ys, length);
+            zs = Arrays.copyOf(zs, length);
+        }
+
+        size = 0;
+        for (int slot = 0; slot < capacity && slot <= SLOT_MASK; slot++) {
+            Player player = registry.getPlayer(slot);
+            if (player == null || player.isDead()) continue;
+            Location loc = player.getLocation(scratch);
+            if (loc.getWorld() != world) continue;
+
+            xs[slot] = loc.getX();
+            ys[slot] = loc.getY();
+            zs[slot] = loc.getZ();
+
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size << 1);
+            }
+            entries[size++] = (cellKey(loc.getBlockX() >> CELL_SHIFT, loc.getBlockZ() >> CELL_SHIFT) << SLOT_BITS) | slot;
+        }
+        Arrays.sort(entries, 0, size);
+    }
+
+    /** Calls {@code visitor} with the slot of every player within {@code radius} of the point. */
+    public void query(double x, double y, double z, double radius, IntConsumer visitor) {
+        double radiusSq = radius * radius;
+        int minCx = (int) Math.floor(x - radius) >> CELL_SHIFT;
+        int maxCx = (int) Math.floor(x + radius) >> CELL_SHIFT;
+        int minCz = (int) Math.floor(z - radius) >> CELL_SHIFT;
+        int maxCz = (int) Math.floor(z + radius) >> CELL_SHIFT;
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                long cell = cellKey(cx, cz);
+                for (int i = lowerBound(cell << SLOT_BITS); i < size && entries[i] >>> SLOT_BITS == cell; i++) {
+                    int slot = (int) (entries[i] & SLOT_MASK);
+                    double dx = xs[slot] - x, dy = ys[slot] - y, dz = zs[slot] - z;
+                    if (dx * dx + dy * dy + dz * dz <= radiusSq) {
+                        visitor.accept(slot);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int lowerBound(long key) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static long cellKey(int cx, int cz) {
+        return ((long) (cx + COORD_OFFSET) << COORD_BITS) | (cz + COORD_OFFSET);
+    }
+}
@@ -2,6 +2,7 @@ package fr.heneria.nexus.game.objective;
 
 import fr.heneria.nexus.NexusPlugin;
 import fr.heneria.nexus.game.team.GameTeam;
+import fr.heneria.nexus.jfr.CaptureTickEvent;
 import fr.heneria.nexus.map.NexusMap;
 import fr.heneria.nexus.utils.ItemBuilder;
 import net.kyori.adventure.bossbar.BossBar;
@@ -17,13 +18,15 @@ import org.bukkit.util.BoundingBox;
 import lombok.Getter;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class CapturePoint implements Runnable {
 
+    private static final double HOLOGRAM_VIEW_DISTANCE = 48.0;
+
     private final NexusPlugin plugin;
     @Getter
     private final String id;
+    @Getter
     private final Location center;
     private final double radius;
     private final int respawnTime;
@@ -39,7 +42,12 @@ public class CapturePoint implements Runnable {
     private double captureProgress = 0.0; // 0 to 100
     private boolean spawning = false;
     private UUID hologramId;
+    private int shownBluePerc = -1; // Last percentages pushed to the hologram
+    private int shownRedPerc = -1;
     private BossBar bossBar;
+    private int barBluePerc = -1; // Last percentages in the boss bar title
+    private int barRedPerc = -1;
+    private final Location scratch = new Location(null, 0, 0, 0);
 
     public CapturePoint(NexusPlugin plugin, String id, Location center, double radius, int respawnTime) {
         this.plugin = plugin;
@@ -52,7 +60,10 @@ public class CapturePoint implements Runnable {
 
     public void spawn() {
         if (active) {
-            hologramId = plugin.getHoloService().createHologram(center.clone().add(0, 3, 0), getHologramLines());
+            shownBluePerc = bluePercent();
+            shownRedPerc = redPercent();
+            hologramId = plugin.getHoloService().createScopedHologram(center.clone().add(0, 3, 0),
+                    getHologramLines(shownBluePerc, shownRedPerc), HOLOGRAM_VIEW_DISTANCE, null);
         }
     }
 
@@ -72,23 +83,13 @@ public class CapturePoint implements Runnable {
     public void run() {
         if (!active) return;
 
+        CaptureTickEvent event = new CaptureTickEvent();
+        event.begin();
         updateBossBar();
 
-        // Scan for players
-        List<Player> players = center.getWorld().getNearbyEntities(boundingBox).stream()
-                .filter(e -> e instanceof Player)
-                .map(e -> (Player) e)
-                .collect(Collectors.toList());
-
-        // Simple majority logic
-        int blueCount = 0;
-        int redCount = 0;
-
-        for (Player p : players) {
-            GameTeam team = plugin.getTeamManager().getPlayerTeam(p);
-            if (team == GameTeam.BLUE) blueCount++;
-            else if (team == GameTeam.RED) redCount++;
-        }
+        // Simple majority logic, counted from the team rosters
+        int blueCount = countInZone(GameTeam.BLUE);
+        int redCount = countInZone(GameTeam.RED);
 
         if (blueCount > redCount) {
             tickCapture(GameTeam.BLUE);
@@ -103,6 +104,14 @@ public class CapturePoint implements Runnable {
         }
 
         updateVisuals();
+
+        if (event.shouldCommit()) {
+            event.zoneId = id;
+            event.bluePlayers = blueCount;
+            event.redPlayers = redCount;
+            event.progress = captureProgress;
+            event.commit();
+        }
     }
 
     private void tickCapture(GameTeam dominantTeam) {
@@ -140,26 +149,44 @@ public class CapturePoint implements Runnable {
         plugin.getServer().broadcast(Component.text("La Cellule a été récupérée par " + team.getName() + " !", team.getColor()));
 
         // Give cell to a player in the zone (priority to one who is there)
-        List<Player> players = center.getWorld().getNearbyEntities(boundingBox).stream()
-                .filter(e -> e instanceof Player)
-                .map(e -> (Player) e)
-                .filter(p -> plugin.getTeamManager().getPlayerTeam(p) == team)
-                .collect(Collectors.toList());
-
-        if (!players.isEmpty()) {
-            Player carrier = players.get(0); // Pick first one
+        Player carrier = null;
+        for (Player p : plugin.getTeamManager().getOnlinePlayers(team)) {
+            if (isInZone(p)) {
+                carrier = p; // Pick first one
+                break;
+            }
+        }
+
+        if (carrier != null) {
             giveCell(carrier);
         } else {
              // Drop it if no one? unexpected but safe fallback
-             ItemStack cell = ObjectiveManager.createCellItem();
+             ItemStack cell = plugin.getObjectiveManager().createCellItem();
              center.getWorld().dropItemNaturally(center.clone().add(0, 1, 0), cell);
         }
 
         despawn();
     }
 
+    private int countInZone(GameTeam team) {
+        return countInZone(plugin.getTeamManager().getOnlinePlayers(team));
+    }
+
+    int countInZone(List<Player> roster) {
+        int count = 0;
+        for (int i = 0; i < roster.size(); i++) {
+            if (isInZone(roster.get(i))) count++;
+        }
+        return count;
+    }
+
+    private boolean isInZone(Player player) {
+        Location loc = player.getLocation(scratch);
+        return loc.getWorld() == center.getWorld() && boundingBox.contains(loc.getX(), loc.getY(), loc.getZ());
+    }
+
     private void giveCell(Player player) {
-        ItemStack cell = ObjectiveManager.createCellItem();
+        ItemStack cell = plugin.getObjectiveManager().createCellItem();
         player.getInventory().addItem(cell);
         player.sendMessage(Component.text("Vous portez la Cellule ! Apportez-la au Nexus ennemi !", NamedTextColor.GOLD));
         // Force hold logic handled by listener? Or force held slot here.
@@ -184,6 +211,7 @@ public class CapturePoint implements Runnable {
             if (held != null && held.getType() != Material.AIR) {
                 player.getInventory().addItem(held);
             }
+            plugin.getObjectiveManager().addCarrier(player);
         }
     }
 
@@ -201,15 +229,17 @@ public class CapturePoint implements Runnable {
             bossBar = BossBar.bossBar(Component.empty(), 0.0f, BossBar.Color.WHITE, BossBar.Overlay.PROGRESS);
         }
 
-        double bluePerc = (capturingTeam == GameTeam.BLUE) ? captureProgress : 0;
-        double redPerc = (capturingTeam == GameTeam.RED) ? captureProgress : 0;
-
-        Component title = Component.text("Capture : ", NamedTextColor.GRAY)
-                .append(Component.text("Bleu " + (int)bluePerc + "%", NamedTextColor.BLUE))
-                .append(Component.text(" - ", NamedTextColor.GRAY))
-                .append(Component.text("Rouge " + (int)redPerc + "%", NamedTextColor.RED));
-
-        bossBar.name(title);
+        // Title only rebuilt when the displayed percentages change
+        int bluePerc = bluePercent();
+        int redPerc = redPercent();
+        if (bluePerc != barBluePerc || redPerc != barRedPerc) {
+            barBluePerc = bluePerc;
+            barRedPerc = redPerc;
+            bossBar.name(Component.text("Capture : ", NamedTextColor.GRAY)
+                    .append(Component.text("Bleu " + bluePerc + "%", NamedTextColor.BLUE))
+                    .append(Component.text(" - ", NamedTextColor.GRAY))
+                    .append(Component.text("Rouge " + redPerc + "%", NamedTextColor.RED)));
+        }
         bossBar.progress((float) (captureProgress / 100.0));
 
         if (capturingTeam == GameTeam.BLUE) {
@@ -221,9 +251,9 @@ public class CapturePoint implements Runnable {
         }
 
         for (Player p : Bukkit.getOnlinePlayers()) {
-            if (p.getWorld().equals(center.getWorld())) {
-                double dist = p.getLocation().distance(center);
-                if (dist > 20) {
+            Location loc = p.getLocation(scratch);
+            if (loc.getWorld() == center.getWorld()) {
+                if (loc.distanceSquared(center) > 20 * 20) {
                     p.showBossBar(bossBar);
                 } else {
                     p.hideBossBar(bossBar);
@@ -250,30 +280,32 @@ public class CapturePoint implements Runnable {
              }
         }
 
-        // Hologram
+        // Hologram (only rebuilt when the displayed percentages change)
         if (hologramId != null) {
-            List<Component> lines = getHologramLines();
-            for (int i = 0; i < lines.size(); i++) {
-                plugin.getHoloService().updateLine(hologramId, i, lines.get(i));
+            int bluePerc = bluePercent();
+            int redPerc = redPercent();
+            if (bluePerc != shownBluePerc || redPerc != shownRedPerc) {
+                shownBluePerc = bluePerc;
+                shownRedPerc = redPerc;
+                plugin.getHoloService().setLines(hologramId, getHologramLines(bluePerc, redPerc));
             }
         }
     }
 
-    private List<Component> getHologramLines() {
-        Component header = Component.text("Cellule", NamedTextColor.GRAY);
+    private int bluePercent() {
+        return capturingTeam == GameTeam.BLUE ? (int) captureProgress : 0;
+    }
 
-        double bluePerc = 0;
-        double redPerc = 0;
+    private int redPercent() {
+        return capturingTeam == GameTeam.RED ? (int) captureProgress : 0;
+    }
 
-        if (capturingTeam == GameTeam.BLUE) {
-             bluePerc = captureProgress;
-        } else if (capturingTeam == GameTeam.RED) {
-             redPerc = captureProgress;
-        }
+    private List<Component> getHologramLines(int bluePerc, int redPerc) {
+        Component header = Component.text("Cellule", NamedTextColor.GRAY);
 
-        Component status = Component.text("Bleu: " + (int)bluePerc + "%", NamedTextColor.BLUE)
+        Component status = Component.text("Bleu: " + bluePerc + "%", NamedTextColor.BLUE)
                 .append(Component.text(" | ", NamedTextColor.GRAY))
-                .append(Component.text("Rouge: " + (int)redPerc + "%", NamedTextColor.RED));
+                .append(Component.text("Rouge: " + redPerc + "%", NamedTextColor.RED));
 
         return Arrays.asList(header, status);
     }
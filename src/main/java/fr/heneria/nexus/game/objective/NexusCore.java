@@ -3,6 +3,9 @@ package fr.heneria.nexus.game.objective;
 import fr.heneria.nexus.NexusPlugin;
 import fr.heneria.nexus.game.team.GameTeam;
 import fr.heneria.nexus.holo.HoloService;
+import fr.heneria.nexus.jfr.NexusDamageEvent;
+import fr.heneria.nexus.jfr.NexusOverloadEvent;
+import fr.heneria.nexus.scheduler.NexusTask;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
@@ -11,9 +14,7 @@ import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.entity.BlockDisplay;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Transformation;
 import lombok.Getter;
 import org.joml.AxisAngle4f;
@@ -24,6 +25,9 @@ import java.util.UUID;
 
 public class NexusCore {
 
+    private static final double HOLOGRAM_VIEW_DISTANCE = 48.0;
+    private static final Component PROTECTED_MESSAGE = Component.text("Ce Nexus est protégé par un bouclier !", NamedTextColor.RED);
+
     private final NexusPlugin plugin;
     @Getter
     private final Location location;
@@ -35,7 +39,8 @@ public class NexusCore {
     private double currentHealth;
     private UUID hologramId;
     private BlockDisplay displayEntity;
-    private BukkitRunnable animationTask;
+    private NexusTask animationTask;
+    private float angle;
 
     public enum State {
         PROTECTED,
@@ -58,8 +63,8 @@ public class NexusCore {
         // Spawn BlockDisplay
         // Center horizontally (0.5, 0.5) and raise vertically to float (1.5)
         Location spawnLoc = location.clone().add(0.5, 1.5, 0.5);
-        displayEntity = (BlockDisplay) spawnLoc.getWorld().spawnEntity(spawnLoc, EntityType.BLOCK_DISPLAY);
-        displayEntity.setBlock(Material.BEACON.createBlockData());
+        displayEntity = plugin.getHoloService().acquireBlockDisplay(spawnLoc, Material.BEACON.createBlockData());
+        displayEntity.setInterpolationDuration(0); // A pooled entity may still carry the last animation settings
 
         // Scale 1.0 and center the block relative to the entity pivot (which is at the feet of the entity)
         // The entity is at x.5, y+1.5, z.5
@@ -80,47 +85,44 @@ public class NexusCore {
 
         // Create Hologram
         HoloService holo = plugin.getHoloService();
-        hologramId = holo.createHologram(location.clone().add(0.5, 2.5, 0.5), Collections.singletonList(
+        hologramId = holo.createScopedHologram(location.clone().add(0.5, 2.5, 0.5), Collections.singletonList(
                 getHologramText()
-        ));
+        ), HOLOGRAM_VIEW_DISTANCE, null);
     }
 
     private void startAnimation() {
-        animationTask = new BukkitRunnable() {
-            float angle = 0;
-
-            @Override
-            public void run() {
-                if (displayEntity == null || !displayEntity.isValid()) {
-                    this.cancel();
-                    return;
-                }
-
-                angle += 0.05f; // Rotation speed
-                if (angle > Math.PI * 2) angle -= Math.PI * 2;
-
-                displayEntity.setTransformation(new Transformation(
-                        new Vector3f(-0.5f, -0.5f, -0.5f),
-                        new AxisAngle4f(angle, 0, 1, 0),
-                        new Vector3f(1f, 1f, 1f),
-                        new AxisAngle4f(0, 0, 1, 0)
-                ));
-                displayEntity.setInterpolationDelay(0);
-                displayEntity.setInterpolationDuration(1);
-            }
-        };
-        animationTask.runTaskTimer(plugin, 0L, 1L);
+        angle = 0;
+        BlockDisplay display = displayEntity;
+        // Entity task: stops once the display is removed
+        animationTask = plugin.getScheduler().runForTimer(display, plugin.getProfiler().wrap("objective:nexus-animation", () -> {
+            if (displayEntity != display) return; // Released back to the pool, cleanup cancels us
+
+            angle += 0.05f; // Rotation speed
+            if (angle > Math.PI * 2) angle -= Math.PI * 2;
+
+            display.setTransformation(new Transformation(
+                    new Vector3f(-0.5f, -0.5f, -0.5f),
+                    new AxisAngle4f(angle, 0, 1, 0),
+                    new Vector3f(1f, 1f, 1f),
+                    new AxisAngle4f(0, 0, 1, 0)
+            ));
+            display.setInterpolationDelay(0);
+            display.setInterpolationDuration(1);
+        }), 1L, 1L);
     }
 
     public void cleanup() {
-        if (displayEntity != null) {
-            displayEntity.remove();
-        }
         if (animationTask != null) {
             animationTask.cancel();
+            animationTask = null;
+        }
+        if (displayEntity != null) {
+            plugin.getHoloService().releaseBlockDisplay(displayEntity);
+            displayEntity = null;
         }
         if (hologramId != null) {
              plugin.getHoloService().removeHologram(hologramId);
+             hologramId = null;
         }
     }
 
@@ -128,6 +130,12 @@ public class NexusCore {
         if (state == State.VULNERABLE) return;
 
         shieldLayers--;
+        NexusOverloadEvent event = new NexusOverloadEvent();
+        if (event.shouldCommit()) {
+            event.team = owner != null ? owner.name() : null;
+            event.shieldLayers = shieldLayers;
+            event.commit();
+        }
         if (shieldLayers <= 0) {
             state = State.VULNERABLE;
             location.getWorld().spawnParticle(Particle.EXPLOSION_EMITTER, location.clone().add(0.5, 0.5, 0.5), 1);
@@ -142,18 +150,30 @@ public class NexusCore {
         }
     }
 
-    public void damage(double amount, Player attacker) {
+    /**
+     * @return true if the hit took health off the nexus
+     */
+    public boolean damage(double amount, Player attacker) {
         if (state == State.PROTECTED) {
             location.getWorld().playSound(location, Sound.BLOCK_ANVIL_LAND, 1f, 0.5f);
-            attacker.sendMessage(Component.text("Ce Nexus est protégé par un bouclier !", NamedTextColor.RED));
-            return;
+            attacker.sendMessage(PROTECTED_MESSAGE);
+            return false;
         }
 
-        if (currentHealth <= 0) return;
+        if (currentHealth <= 0) return false;
 
         currentHealth -= amount;
         if (currentHealth < 0) currentHealth = 0;
 
+        NexusDamageEvent event = new NexusDamageEvent();
+        if (event.shouldCommit()) {
+            event.team = owner != null ? owner.name() : null;
+            event.attacker = attacker.getName();
+            event.amount = amount;
+            event.remainingHealth = currentHealth;
+            event.commit();
+        }
+
         // Visual effects
         location.getWorld().spawnParticle(Particle.EXPLOSION_EMITTER, location.clone().add(0.5, 0.5, 0.5), 1);
         location.getWorld().playSound(location, Sound.ENTITY_IRON_GOLEM_HURT, 1f, 1f);
@@ -166,6 +186,7 @@ public class NexusCore {
         if (currentHealth <= 0) {
             onDestroy();
         }
+        return true;
     }
 
     private void onDestroy() {
@@ -3,16 +3,19 @@ package fr.heneria.nexus.game.objective;
 import fr.heneria.nexus.NexusPlugin;
 import fr.heneria.nexus.game.team.GameTeam;
 import fr.heneria.nexus.map.NexusMap;
+import fr.heneria.nexus.player.PlayerRegistry;
+import fr.heneria.nexus.scheduler.NexusTask;
 import fr.heneria.nexus.utils.ItemBuilder;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.persistence.PersistentDataType;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -27,30 +30,60 @@ public class ObjectiveManager {
     @Getter
     private final List<CapturePoint> capturePoints = new ArrayList<>();
 
-    private BukkitTask captureTask;
-    private BukkitTask respawnTask;
+    // One per capture point, each ticks on the region owning its zone
+    private final List<NexusTask> captureTasks = new ArrayList<>();
+    private NexusTask respawnTask;
+
+    private World world;
+    private ProtectedRegionIndex protectedRegions = ProtectedRegionIndex.empty();
+
+    private final NamespacedKey cellKey;
+    private final ItemStack cellTemplate;
 
     public ObjectiveManager(NexusPlugin plugin) {
         this.plugin = plugin;
-    }
-
-    public static ItemStack createCellItem() {
-        return new ItemBuilder(Material.NETHER_STAR)
+        this.cellKey = new NamespacedKey(plugin, "cell");
+        this.cellTemplate = new ItemBuilder(Material.NETHER_STAR)
                 .name(Component.text("Cellule d'Énergie", NamedTextColor.GOLD))
                 .lore(Component.text("Portez-la au Nexus ennemi !", NamedTextColor.GRAY))
+                .applyMeta(meta -> meta.getPersistentDataContainer().set(cellKey, PersistentDataType.BYTE, (byte) 1))
                 .build();
     }
 
-    public static boolean isCellItem(ItemStack item) {
+    public ItemStack createCellItem() {
+        return cellTemplate.clone();
+    }
+
+    public boolean isCellItem(ItemStack item) {
         if (item == null || item.getType() != Material.NETHER_STAR) return false;
         if (!item.hasItemMeta()) return false;
-        // Simple check on name
-        return item.getItemMeta().getDisplayName().contains("Cellule d'Énergie");
+        return item.getItemMeta().getPersistentDataContainer().has(cellKey, PersistentDataType.BYTE);
+    }
+
+    // Carrier flag lives in the PlayerRegistry, kept in sync when the Cell is given, picked up, lost or delivered
+    public void addCarrier(Player player) {
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        registry.setCarrier(registry.getSlot(player), true);
+    }
+
+    public boolean removeCarrier(Player player) {
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        return registry.setCarrier(registry.getSlot(player), false);
+    }
+
+    public boolean isCarrier(Player player) {
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        return registry.isCarrier(registry.getSlot(player));
     }
 
     public void loadObjectives(NexusMap map, World world) {
         nexusList.clear();
         capturePoints.clear();
+        plugin.getPlayerRegistry().clearCarriers();
+        plugin.getPlayerRegistry().clearStats();
+        this.world = world;
+        ProtectedRegionIndex prepared = plugin.getMapManager().takePreparedRegions(map);
+        this.protectedRegions = prepared != null ? prepared : ProtectedRegionIndex.build(map);
 
         // Load Nexus per Team
         for (Map.Entry<GameTeam, NexusMap.ConfigLocation> entry : map.getTeamNexusLocations().entrySet()) {
@@ -78,19 +111,15 @@ public class ObjectiveManager {
     }
 
     public void startLoops() {
-        if (captureTask != null) captureTask.cancel();
-        captureTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            for (CapturePoint point : capturePoints) {
-                point.run();
-            }
-        }, 20L, 20L);
+        cancelCaptureTasks();
+        for (CapturePoint point : capturePoints) {
+            captureTasks.add(plugin.getScheduler().runAtTimer(point.getCenter(), plugin.getProfiler().wrap("objective:capture",
+                    plugin.getMetrics().timed(plugin.getMetrics().getCaptureTick(), point::run)), 20L, 20L));
+        }
     }
 
     public void stopLoops() {
-        if (captureTask != null) {
-            captureTask.cancel();
-            captureTask = null;
-        }
+        cancelCaptureTasks();
         if (respawnTask != null) {
             respawnTask.cancel();
             respawnTask = null;
@@ -103,6 +132,10 @@ public class ObjectiveManager {
         for (CapturePoint point : capturePoints) {
             point.despawn();
         }
+
+        plugin.getPlayerRegistry().clearCarriers();
+        world = null;
+        protectedRegions = ProtectedRegionIndex.empty();
     }
 
     public void triggerCellRespawn(int delaySeconds) {
@@ -113,16 +146,50 @@ public class ObjectiveManager {
 
         plugin.getServer().broadcast(Component.text("La Cellule réapparaîtra dans " + delaySeconds + " secondes...", NamedTextColor.GRAY));
 
-        respawnTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        respawnTask = plugin.getScheduler().runGlobalLater(() -> {
              for (CapturePoint point : capturePoints) {
-                 point.reset();
+                 plugin.getScheduler().runAt(point.getCenter(), point::reset);
                  plugin.getServer().broadcast(Component.text("La Cellule est réapparue au centre !", NamedTextColor.GREEN));
              }
              respawnTask = null;
         }, delaySeconds * 20L);
     }
 
+    private void cancelCaptureTasks() {
+        for (NexusTask task : captureTasks) {
+            task.cancel();
+        }
+        captureTasks.clear();
+    }
+
+    public boolean isProtected(Block block) {
+        return block.getWorld() == world && protectedRegions.contains(block.getX(), block.getY(), block.getZ());
+    }
+
+    /** Nexus whose core is less than 2 blocks from {@code loc}, or null. */
+    public NexusCore findNexus(Location loc) {
+        for (int i = 0; i < nexusList.size(); i++) {
+            NexusCore nexus = nexusList.get(i);
+            Location core = nexus.getLocation();
+            if (core.getWorld() == loc.getWorld() && core.distanceSquared(loc) < 4) {
+                return nexus;
+            }
+        }
+        return null;
+    }
+
     public NexusCore getNexus(GameTeam team) {
         return nexusList.stream().filter(n -> n.getOwner() == team).findFirst().orElse(null);
     }
+
+    /** Team whose nexus has the larger share of its health left, null on a tie. */
+    public GameTeam getLeadingTeam() {
+        NexusCore blue = getNexus(GameTeam.BLUE);
+        NexusCore red = getNexus(GameTeam.RED);
+        if (blue == null || red == null) return null;
+
+        int cmp = Double.compare(blue.getCurrentHealth() / blue.getMaxHealth(), red.getCurrentHealth() / red.getMaxHealth());
+        if (cmp == 0) return null;
+        return cmp > 0 ? GameTeam.BLUE : GameTeam.RED;
+    }
 }
@@ -0,0 +1,100 @@
+package fr.heneria.nexus.game.objective;
+
+import fr.heneria.nexus.map.NexusMap;
+import fr.heneria.nexus.utils.LongHashSet;
+
+/**
+ * Set of protected block positions for one map, packed as longs.
+ * Built once when objectives load so a block event costs a single lookup,
+ * whatever the number of nexus, capture zones or declared volumes.
+ */
+public class ProtectedRegionIndex {
+
+    // Same footprint as the former distanceSquared(nexus, block) < 4 check
+    private static final double NEXUS_RADIUS = 2.0;
+
+    private final LongHashSet blocks;
+
+    private ProtectedRegionIndex(LongHashSet blocks) {
+        this.blocks = blocks;
+    }
+
+    public static ProtectedRegionIndex empty() {
+        return new ProtectedRegionIndex(new LongHashSet());
+    }
+
+    public static ProtectedRegionIndex build(NexusMap map) {
+        LongHashSet blocks = new LongHashSet(256);
+
+        if (map.getTeamNexusLocations() != null) {
+            for (NexusMap.ConfigLocation loc : map.getTeamNexusLocations().values()) {
+                addSphere(blocks, loc.getX(), loc.getY(), loc.getZ(), NEXUS_RADIUS);
+            }
+        }
+
+        if (map.getCaptureConfigs() != null) {
+            for (NexusMap.CaptureConfig capture : map.getCaptureConfigs()) {
+                NexusMap.ConfigLocation c = capture.getCenter();
+                double r = capture.getRadius();
+                addBox(blocks, c.getX() - r, c.getY() - r, c.getZ() - r, c.getX() + r, c.getY() + r, c.getZ() + r);
+            }
+        }
+
+        if (map.getProtectedRegions() != null) {
+            for (NexusMap.RegionConfig region : map.getProtectedRegions()) {
+                NexusMap.ConfigLocation a = region.getMin();
+                NexusMap.ConfigLocation b = region.getMax();
+                addBox(blocks,
+                        Math.min(a.getX(), b.getX()), Math.min(a.getY(), b.getY()), Math.min(a.getZ(), b.getZ()),
+                        Math.max(a.getX(), b.getX()), Math.max(a.getY(), b.getY()), Math.max(a.getZ(), b.getZ()));
+            }
+        }
+
+        return new ProtectedRegionIndex(blocks);
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return blocks.contains(pack(x, y, z));
+    }
+
+    public int size() {
+        return blocks.size();
+    }
+
+    // 26 bits X | 26 bits Z | 12 bits Y, enough for any vanilla world border and build height
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
+    }
+
+    private static void addSphere(LongHashSet blocks, double cx, double cy, double cz, double radius) {
+        double radiusSq = radius * radius;
+        int minX = (int) Math.floor(cx - radius), maxX = (int) Math.ceil(cx + radius);
+        int minY = (int) Math.floor(cy - radius), maxY = (int) Math.ceil(cy + radius);
+        int minZ = (int) Math.floor(cz - radius), maxZ = (int) Math.ceil(cz + radius);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    double dx = x - cx, dy = y - cy, dz = z - cz;
+                    if (dx * dx + dy * dy + dz * dz < radiusSq) {
+                        blocks.add(pack(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addBox(LongHashSet blocks, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        int x0 = (int) Math.floor(minX), x1 = (int) Math.floor(maxX);
+        int y0 = (int) Math.floor(minY), y1 = (int) Math.floor(maxY);
+        int z0 = (int) Math.floor(minZ), z1 = (int) Math.floor(maxZ);
+
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    blocks.add(pack(x, y, z));
+                }
+            }
+        }
+    }
+}
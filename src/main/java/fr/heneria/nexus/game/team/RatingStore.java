@@ -0,0 +1,108 @@
+package fr.heneria.nexus.game.team;
+
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.io.IoKind;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persisted player skill ratings (ratings.yml), used to balance teams.
+ */
+public class RatingStore {
+
+    public static final double DEFAULT_RATING = 1000.0;
+    // Elo step for a match whose result was fully expected to go the other way
+    private static final double K_FACTOR = 32.0;
+
+    private final NexusPlugin plugin;
+    private final File file;
+    private final Map<UUID, Double> ratings = new HashMap<>();
+    private CompletableFuture<Void> lastSave = CompletableFuture.completedFuture(null);
+
+    public RatingStore(NexusPlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "ratings.yml");
+    }
+
+    public void load() {
+        ratings.clear();
+        if (!file.exists()) return;
+
+        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection section = config.getConfigurationSection("ratings");
+        if (section == null) return;
+
+        for (String key : section.getKeys(false)) {
+            try {
+                ratings.put(UUID.fromString(key), section.getDouble(key, DEFAULT_RATING));
+            } catch (IllegalArgumentException ignored) {
+                plugin.getLogger().warning("Invalid UUID in ratings.yml: " + key);
+            }
+        }
+    }
+
+    /** Snapshots the ratings and writes them on the I/O executor. */
+    public CompletableFuture<Void> save() {
+        FileConfiguration config = new YamlConfiguration();
+        for (Map.Entry<UUID, Double> entry : ratings.entrySet()) {
+            config.set("ratings." + entry.getKey(), entry.getValue());
+        }
+        String data = config.saveToString();
+        lastSave = lastSave.thenCompose(ignored -> plugin.getIoExecutor().run(IoKind.STATS_WRITE, () -> {
+            Files.writeString(file.toPath(), data, StandardCharsets.UTF_8);
+            return null;
+        })).exceptionally(e -> {
+            plugin.getLogger().severe("Failed to save ratings.yml: " + e.getMessage());
+            return null;
+        });
+        return lastSave;
+    }
+
+    public double getRating(UUID playerId) {
+        return ratings.getOrDefault(playerId, DEFAULT_RATING);
+    }
+
+    public void setRating(UUID playerId, double rating) {
+        ratings.put(playerId, rating);
+    }
+
+    /**
+     * Elo update of every player of a finished match, each team rated by its
+     * average. Members of the same team all move by the same amount.
+     *
+     * @param teams  team of each player of the match, including those who left
+     * @param winner winning team, null for a draw
+     */
+    public void recordMatch(Map<UUID, GameTeam> teams, GameTeam winner) {
+        double blueSum = 0, redSum = 0;
+        int blueCount = 0, redCount = 0;
+        for (Map.Entry<UUID, GameTeam> entry : teams.entrySet()) {
+            double rating = getRating(entry.getKey());
+            if (entry.getValue() == GameTeam.BLUE) {
+                blueSum += rating;
+                blueCount++;
+            } else {
+                redSum += rating;
+                redCount++;
+            }
+        }
+        if (blueCount == 0 || redCount == 0) return;
+
+        double blueExpected = 1.0 / (1.0 + Math.pow(10, (redSum / redCount - blueSum / blueCount) / 400.0));
+        double blueScore = winner == null ? 0.5 : winner == GameTeam.BLUE ? 1.0 : 0.0;
+        double blueDelta = K_FACTOR * (blueScore - blueExpected);
+        for (Map.Entry<UUID, GameTeam> entry : teams.entrySet()) {
+            double delta = entry.getValue() == GameTeam.BLUE ? blueDelta : -blueDelta;
+            setRating(entry.getKey(), getRating(entry.getKey()) + delta);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package fr.heneria.nexus.game.team;
+
+import java.util.Arrays;
+
+/**
+ * Splits a lobby into two teams of balanced total rating.
+ * <p>
+ * Parties (groups) are placed whole, largest rating first, into the weaker
+ * team that still has room (greedy / Karmarkar-Karp style). A few passes of
+ * single-player swaps then narrow the remaining gap. Cost is O(n log n) plus
+ * a bounded O(n^2) refinement, well under a millisecond for 200 players.
+ */
+public final class TeamBalancer {
+
+    private static final int MAX_SWAP_PASSES = 16;
+
+    private TeamBalancer() {
+    }
+
+    /**
+     * @param ratings rating of each member
+     * @param groups  member indexes of each party, every member in exactly one group
+     * @return side of each member, 0 for the first team and 1 for the second
+     */
+    public static byte[] partition(double[] ratings, int[][] groups) {
+        int n = ratings.length;
+        int cap = (n + 1) / 2;
+        byte[] sides = new byte[n];
+
+        double[] groupSums = new double[groups.length];
+        Integer[] order = new Integer[groups.length];
+        for (int g = 0; g < groups.length; g++) {
+            for (int member : groups[g]) {
+                groupSums[g] += ratings[member];
+            }
+            order[g] = g;
+        }
+        // Largest first; bigger parties first on ties so they still find room
+        Arrays.sort(order, (a, b) -> {
+            int cmp = Double.compare(groupSums[b], groupSums[a]);
+            return cmp != 0 ? cmp : Integer.compare(groups[b].length, groups[a].length);
+        });
+
+        double[] sums = new double[2];
+        int[] sizes = new int[2];
+        for (int g : order) {
+            int length = groups[g].length;
+            int side = sums[0] <= sums[1] ? 0 : 1;
+            if (sizes[side] + length > cap) side = 1 - side;
+            if (sizes[side] + length > cap) side = sizes[0] <= sizes[1] ? 0 : 1; // Oversized party
+
+            for (int member : groups[g]) {
+                sides[member] = (byte) side;
+            }
+            sums[side] += groupSums[g];
+            sizes[side] += length;
+        }
+
+        refine(ratings, groups, sides, sums);
+        return sides;
+    }
+
+    /** One group per member, for lobbies without parties. */
+    public static int[][] singletons(int size) {
+        int[][] groups = new int[size][];
+        for (int i = 0; i < size; i++) {
+            groups[i] = new int[]{i};
+        }
+        return groups;
+    }
+
+    // Swap solo players across teams while it lowers the rating gap; team sizes don't change
+    private static void refine(double[] ratings, int[][] groups, byte[] sides, double[] sums) {
+        int soloCount = 0;
+        for (int[] group : groups) {
+            if (group.length == 1) soloCount++;
+        }
+        int[] solos = new int[soloCount];
+        int index = 0;
+        for (int[] group : groups) {
+            if (group.length == 1) solos[index++] = group[0];
+        }
+
+        for (int pass = 0; pass < MAX_SWAP_PASSES; pass++) {
+            double diff = sums[0] - sums[1];
+            double bestGap = Math.abs(diff);
+            int bestA = -1, bestB = -1;
+
+            for (int a : solos) {
+                if (sides[a] != 0) continue;
+                for (int b : solos) {
+                    if (sides[b] != 1) continue;
+                    double gap = Math.abs(diff - 2 * (ratings[a] - ratings[b]));
+                    if (gap < bestGap) {
+                        bestGap = gap;
+                        bestA = a;
+                        bestB = b;
+                    }
+                }
+            }
+
+            if (bestA < 0) return;
+            sides[bestA] = 1;
+            sides[bestB] = 0;
+            double delta = ratings[bestA] - ratings[bestB];
+            sums[0] -= delta;
+            sums[1] += delta;
+        }
+    }
+}
@@ -1,33 +1,111 @@
 package fr.heneria.nexus.game.team;
 
 import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.player.PlayerRegistry;
 import lombok.Getter;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 public class TeamManager {
 
     private final NexusPlugin plugin;
+    // Assignment record, survives a quit; online lookups read the PlayerRegistry team column
     @Getter
     private final Map<UUID, GameTeam> playerTeams = new HashMap<>();
+    // Online members of each team, kept in sync on assignment, join and quit
+    private final Map<GameTeam, List<Player>> rosters = new EnumMap<>(GameTeam.class);
+    private final Map<GameTeam, List<Player>> rosterViews = new EnumMap<>(GameTeam.class);
+    private final Map<GameTeam, Audience> audiences = new EnumMap<>(GameTeam.class);
 
     public TeamManager(NexusPlugin plugin) {
         this.plugin = plugin;
+        for (GameTeam team : GameTeam.values()) {
+            List<Player> roster = new ArrayList<>();
+            List<Player> view = Collections.unmodifiableList(roster);
+            rosters.put(team, roster);
+            rosterViews.put(team, view);
+            // Forwards to the live roster, no copy per message
+            audiences.put(team, Audience.audience(view));
+        }
     }
 
     public void addPlayerToTeam(Player player, GameTeam team) {
-        playerTeams.put(player.getUniqueId(), team);
+        GameTeam previous = playerTeams.put(player.getUniqueId(), team);
+        if (previous != null) {
+            rosters.get(previous).remove(player);
+        }
+        if (player.isOnline()) {
+            rosters.get(team).add(player);
+        }
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        registry.setTeam(registry.getSlot(player), team);
         // We could add logic to teleport/gear up player here or fire an event
     }
 
     public void removePlayer(Player player) {
-        playerTeams.remove(player.getUniqueId());
+        GameTeam team = playerTeams.remove(player.getUniqueId());
+        if (team != null) {
+            rosters.get(team).remove(player);
+        }
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        registry.setTeam(registry.getSlot(player), null);
+    }
+
+    public void clear() {
+        playerTeams.clear();
+        for (List<Player> roster : rosters.values()) {
+            roster.clear();
+        }
+        plugin.getPlayerRegistry().clearTeams();
+    }
+
+    public void handleJoin(Player player) {
+        GameTeam team = playerTeams.get(player.getUniqueId());
+        if (team != null) {
+            List<Player> roster = rosters.get(team);
+            roster.remove(player);
+            roster.add(player);
+            PlayerRegistry registry = plugin.getPlayerRegistry();
+            registry.setTeam(registry.getSlot(player), team);
+        }
+    }
+
+    public void handleQuit(Player player) {
+        // Keep the assignment so a player rejoining mid-game gets their team back
+        GameTeam team = playerTeams.get(player.getUniqueId());
+        if (team != null) {
+            rosters.get(team).remove(player);
+        }
     }
 
     public GameTeam getPlayerTeam(Player player) {
-        return playerTeams.get(player.getUniqueId());
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        return registry.getTeam(registry.getSlot(player));
+    }
+
+    /** Live, read-only view of the team's online players. */
+    public List<Player> getOnlinePlayers(GameTeam team) {
+        return rosterViews.get(team);
+    }
+
+    public int getOnlineCount(GameTeam team) {
+        return rosters.get(team).size();
+    }
+
+    public Audience getAudience(GameTeam team) {
+        return audiences.get(team);
+    }
+
+    public void broadcast(GameTeam team, Component message) {
+        audiences.get(team).sendMessage(message);
     }
 }
@@ -1,79 +1,351 @@
 package fr.heneria.nexus.holo;
 
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
 import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.jfr.HologramFlushEvent;
+import fr.heneria.nexus.perf.ProfileSection;
+import fr.heneria.nexus.scheduler.NexusTask;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.BlockDisplay;
 import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.bukkit.entity.TextDisplay;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
-public class HoloService {
+/**
+ * Text holograms backed by TextDisplay entities.
+ * Line updates are buffered and flushed once at the end of the tick,
+ * so a hologram gets at most one metadata update per tick.
+ * <p>
+ * Scoped holograms are hidden by default and only shown to players that pass
+ * their filter and stand within their view distance, re-evaluated every
+ * {@link #VISIBILITY_PERIOD} ticks.
+ * <p>
+ * Display entities are pooled per world: released ones are hidden and kept,
+ * then repositioned when a new hologram or block display is requested.
+ * <p>
+ * Everything here is main-thread only, except {@link #publish(UUID, List)}
+ * which any thread may call.
+ */
+public class HoloService implements Listener {
+
+    private static final long VISIBILITY_PERIOD = 10L;
+    private static final int MAX_POOLED_PER_WORLD = 16;
 
     private final NexusPlugin plugin;
-    private final Map<UUID, TextDisplay> holograms = new HashMap<>();
-    private final Map<UUID, List<Component>> hologramLines = new HashMap<>();
+    // Written on the main thread only, concurrent so publish() can look holograms up from any thread
+    private final Map<UUID, Hologram> holograms = new ConcurrentHashMap<>();
+    private final Queue<Hologram> mailboxQueue = new ConcurrentLinkedQueue<>();
+    private final List<Hologram> dirtyHolograms = new ArrayList<>();
+    private final List<Hologram> scopedHolograms = new ArrayList<>();
+    private final Map<World, ArrayDeque<TextDisplay>> textPool = new HashMap<>();
+    private final Map<World, ArrayDeque<BlockDisplay>> blockPool = new HashMap<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private NexusTask visibilityTask;
+    private final ProfileSection flushSection;
 
     public HoloService(NexusPlugin plugin) {
         this.plugin = plugin;
+        this.flushSection = plugin.getProfiler().section("holo:flush");
+    }
+
+    public void start() {
+        stop();
+        visibilityTask = plugin.getScheduler().runGlobalTimer(plugin.getProfiler().wrap("holo:visibility", this::updateVisibility), VISIBILITY_PERIOD, VISIBILITY_PERIOD);
+    }
+
+    public void stop() {
+        if (visibilityTask != null) {
+            visibilityTask.cancel();
+            visibilityTask = null;
+        }
     }
 
     public UUID createHologram(Location location, List<Component> lines) {
+        return spawnHologram(location, lines, false).display.getUniqueId();
+    }
+
+    /**
+     * Creates a hologram only sent to players within {@code viewDistance} blocks
+     * that match {@code viewerFilter} (null = everyone), e.g. a team-only label.
+     */
+    public UUID createScopedHologram(Location location, List<Component> lines, double viewDistance, Predicate<Player> viewerFilter) {
+        Hologram hologram = spawnHologram(location, lines, true);
+        hologram.viewDistanceSq = viewDistance * viewDistance;
+        hologram.viewerFilter = viewerFilter;
+        hologram.viewers = new HashSet<>();
+        scopedHolograms.add(hologram);
+        return hologram.display.getUniqueId();
+    }
+
+    private Hologram spawnHologram(Location location, List<Component> lines, boolean scoped) {
         List<Component> linesCopy = new ArrayList<>(lines);
         Component content = buildContent(linesCopy);
 
-        TextDisplay display = location.getWorld().spawn(location, TextDisplay.class, entity -> {
-            entity.text(content);
-            entity.setBillboard(Display.Billboard.CENTER);
-            entity.setBackgroundColor(org.bukkit.Color.fromARGB(100, 0, 0, 0)); // Semi-transparent dark background
-            entity.setShadowed(true);
-            entity.setPersistent(false); // Don't save to disk
-            entity.setViewRange(100.0f);
-            entity.setSeeThrough(true);
-        });
+        TextDisplay display = poll(textPool, location.getWorld());
+        if (display != null) {
+            display.teleport(location);
+            display.text(content);
+            display.setVisibleByDefault(!scoped);
+        } else {
+            display = location.getWorld().spawn(location, TextDisplay.class, entity -> {
+                entity.text(content);
+                entity.setBillboard(Display.Billboard.CENTER);
+                entity.setBackgroundColor(org.bukkit.Color.fromARGB(100, 0, 0, 0)); // Semi-transparent dark background
+                entity.setShadowed(true);
+                entity.setPersistent(false); // Don't save to disk
+                entity.setViewRange(100.0f);
+                entity.setSeeThrough(true);
+                entity.setVisibleByDefault(!scoped);
+            });
+        }
 
-        holograms.put(display.getUniqueId(), display);
-        hologramLines.put(display.getUniqueId(), linesCopy);
-        return display.getUniqueId();
+        Hologram hologram = new Hologram(display, linesCopy, location.clone());
+        hologram.content = content;
+        holograms.put(display.getUniqueId(), hologram);
+        return hologram;
     }
 
     public void updateLine(UUID holoId, int lineIndex, Component text) {
-        if (!holograms.containsKey(holoId) || !hologramLines.containsKey(holoId)) {
-            return;
-        }
+        Hologram hologram = holograms.get(holoId);
+        if (hologram == null) return;
 
-        List<Component> lines = hologramLines.get(holoId);
-        if (lineIndex >= 0 && lineIndex < lines.size()) {
+        List<Component> lines = hologram.lines;
+        if (lineIndex >= 0 && lineIndex < lines.size() && !lines.get(lineIndex).equals(text)) {
             lines.set(lineIndex, text);
-            TextDisplay display = holograms.get(holoId);
-            if (display != null && display.isValid()) {
-                display.text(buildContent(lines));
-            } else {
-                // Cleanup if entity is gone
-                removeHologram(holoId);
-            }
+            markDirty(hologram);
         }
     }
 
+    public void setLines(UUID holoId, List<Component> newLines) {
+        Hologram hologram = holograms.get(holoId);
+        if (hologram == null) return;
+
+        if (!hologram.lines.equals(newLines)) {
+            hologram.lines.clear();
+            hologram.lines.addAll(newLines);
+            markDirty(hologram);
+        }
+    }
+
+    /**
+     * Thread-safe, lock-free: publishes the latest content of a hologram.
+     * Only the newest value published before the next flush is applied.
+     *
+     * @return false if the hologram does not exist (anymore)
+     */
+    public boolean publish(UUID holoId, List<Component> lines) {
+        Hologram hologram = holograms.get(holoId);
+        if (hologram == null) return false;
+
+        // Enqueue once per pending value, later publishes just overwrite the mailbox
+        if (hologram.mailbox.getAndSet(List.copyOf(lines)) == null) {
+            mailboxQueue.offer(hologram);
+        }
+        return true;
+    }
+
     public void removeHologram(UUID holoId) {
-        TextDisplay display = holograms.remove(holoId);
-        hologramLines.remove(holoId);
+        Hologram hologram = holograms.remove(holoId);
+        if (hologram != null) {
+            if (hologram.viewers != null) {
+                scopedHolograms.remove(hologram);
+            }
+            releaseHologram(hologram);
+        }
+    }
+
+    public void removeAll() {
+        for (Hologram hologram : holograms.values()) {
+            releaseHologram(hologram);
+        }
+        holograms.clear();
+        dirtyHolograms.clear();
+        scopedHolograms.clear();
+    }
+
+    private void releaseHologram(Hologram hologram) {
+        hologram.removed = true;
+        if (!hologram.display.isValid()) return;
+
+        // Hide from explicit viewers first so the per-player visibility state is clean for the next user
+        if (hologram.viewers != null) {
+            for (UUID viewerId : hologram.viewers) {
+                Player viewer = plugin.getServer().getPlayer(viewerId);
+                if (viewer != null) {
+                    hide(viewer, hologram.display);
+                }
+            }
+            hologram.viewers.clear();
+        }
+        release(textPool, hologram.display);
+    }
+
+    /**
+     * Returns a visible BlockDisplay at {@code location}, reusing a pooled one when possible.
+     * Callers configure transformation and interpolation themselves.
+     */
+    public BlockDisplay acquireBlockDisplay(Location location, BlockData blockData) {
+        BlockDisplay display = poll(blockPool, location.getWorld());
+        if (display != null) {
+            display.teleport(location);
+            display.setBlock(blockData);
+            display.setVisibleByDefault(true);
+            return display;
+        }
+        return location.getWorld().spawn(location, BlockDisplay.class, entity -> {
+            entity.setBlock(blockData);
+            entity.setPersistent(false);
+        });
+    }
+
+    public void releaseBlockDisplay(BlockDisplay display) {
         if (display != null && display.isValid()) {
+            release(blockPool, display);
+        }
+    }
+
+    private <T extends Display> T poll(Map<World, ArrayDeque<T>> pool, World world) {
+        ArrayDeque<T> entities = pool.get(world);
+        if (entities == null) return null;
+
+        T display;
+        while ((display = entities.poll()) != null) {
+            if (display.isValid()) return display;
+        }
+        return null;
+    }
+
+    private <T extends Display> void release(Map<World, ArrayDeque<T>> pool, T display) {
+        ArrayDeque<T> entities = pool.computeIfAbsent(display.getWorld(), k -> new ArrayDeque<>());
+        if (entities.size() >= MAX_POOLED_PER_WORLD) {
             display.remove();
+            return;
         }
+        display.setVisibleByDefault(false);
+        entities.add(display);
     }
 
-    public void removeAll() {
-        for (TextDisplay display : holograms.values()) {
-            if (display != null && display.isValid()) {
-                display.remove();
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        // Pooled entities can't outlive their world
+        textPool.remove(event.getWorld());
+        blockPool.remove(event.getWorld());
+    }
+
+    private void updateVisibility() {
+        if (scopedHolograms.isEmpty()) return;
+
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            Location loc = player.getLocation(scratch);
+            World world = loc.getWorld();
+
+            for (int i = 0; i < scopedHolograms.size(); i++) {
+                Hologram hologram = scopedHolograms.get(i);
+                Location pos = hologram.location;
+                boolean visible = false;
+                if (pos.getWorld() == world) {
+                    double dx = pos.getX() - loc.getX(), dy = pos.getY() - loc.getY(), dz = pos.getZ() - loc.getZ();
+                    visible = dx * dx + dy * dy + dz * dz <= hologram.viewDistanceSq
+                            && (hologram.viewerFilter == null || hologram.viewerFilter.test(player));
+                }
+
+                if (visible) {
+                    if (hologram.viewers.add(player.getUniqueId())) {
+                        player.showEntity(plugin, hologram.display);
+                    }
+                } else if (hologram.viewers.remove(player.getUniqueId())) {
+                    hide(player, hologram.display);
+                }
             }
         }
-        holograms.clear();
-        hologramLines.clear();
     }
 
-    private Component buildContent(List<Component> lines) {
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        // Entity visibility is per session, a rejoining player starts hidden again
+        UUID playerId = event.getPlayer().getUniqueId();
+        for (Hologram hologram : scopedHolograms) {
+            hologram.viewers.remove(playerId);
+        }
+    }
+
+    @EventHandler
+    public void onTickEnd(ServerTickEndEvent event) {
+        long start = plugin.getProfiler().start();
+        flush();
+        plugin.getProfiler().stop(flushSection, start);
+    }
+
+    public void flush() {
+        Hologram published;
+        while ((published = mailboxQueue.poll()) != null) {
+            List<Component> lines = published.mailbox.getAndSet(null);
+            if (lines != null && !published.removed && !published.lines.equals(lines)) {
+                published.lines.clear();
+                published.lines.addAll(lines);
+                markDirty(published);
+            }
+        }
+
+        if (dirtyHolograms.isEmpty()) return;
+
+        HologramFlushEvent event = new HologramFlushEvent();
+        event.begin();
+        int updates = 0;
+        for (int i = 0; i < dirtyHolograms.size(); i++) {
+            Hologram hologram = dirtyHolograms.get(i);
+            hologram.dirty = false;
+            if (hologram.removed) continue;
+
+            if (!hologram.display.isValid()) {
+                // Cleanup if entity is gone
+                removeHologram(hologram.display.getUniqueId());
+                continue;
+            }
+
+            Component content = buildContent(hologram.lines);
+            if (!content.equals(hologram.content)) {
+                hologram.content = content;
+                hologram.display.text(content);
+                plugin.getMetrics().getHologramUpdates().increment();
+                updates++;
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.dirty = dirtyHolograms.size();
+            event.updates = updates;
+            event.commit();
+        }
+        dirtyHolograms.clear();
+    }
+
+    private void hide(Player player, Entity entity) {
+        player.hideEntity(plugin, entity);
+    }
+
+    private void markDirty(Hologram hologram) {
+        if (!hologram.dirty) {
+            hologram.dirty = true;
+            dirtyHolograms.add(hologram);
+        }
+    }
+
+    public static Component buildContent(List<Component> lines) {
         Component content = Component.empty();
         for (int i = 0; i < lines.size(); i++) {
             content = content.append(lines.get(i));
@@ -83,4 +355,25 @@ public class HoloService {
         }
         return content;
     }
+
+    private static class Hologram {
+        private final TextDisplay display;
+        private final List<Component> lines;
+        private final Location location;
+        private final AtomicReference<List<Component>> mailbox = new AtomicReference<>();
+        private Component content; // Last content sent to the entity
+        private boolean dirty;
+        private boolean removed;
+
+        // Scoped holograms only
+        private Set<UUID> viewers;
+        private double viewDistanceSq;
+        private Predicate<Player> viewerFilter;
+
+        private Hologram(TextDisplay display, List<Component> lines, Location location) {
+            this.display = display;
+            this.lines = lines;
+            this.location = location;
+        }
+    }
 }
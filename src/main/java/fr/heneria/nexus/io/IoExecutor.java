@@ -0,0 +1,173 @@
+package fr.heneria.nexus.io;
+
+import fr.heneria.nexus.NexusPlugin;
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plugin-owned executor for blocking file work (map copies and deletes, config
+ * and stats writes), one virtual thread per task.
+ * <p>
+ * Each {@link IoKind} is bounded by its own semaphore, so a burst of map copies
+ * can't starve config saves. Tasks waiting for a permit count as queued. The
+ * returned futures can be cancelled, which interrupts a running task.
+ * Futures complete on the I/O thread: hop back through the scheduler before
+ * touching the world.
+ */
+public class IoExecutor {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final NexusPlugin plugin;
+    private final ExecutorService executor;
+    private final Map<IoKind, Semaphore> permits = new EnumMap<>(IoKind.class);
+    private final Map<IoKind, Metrics> metrics = new EnumMap<>(IoKind.class);
+
+    public IoExecutor(NexusPlugin plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("nexus-io-", 0).factory());
+        for (IoKind kind : IoKind.values()) {
+            int limit = Math.max(1, plugin.getConfig().getInt("io.limits." + kind.getConfigKey(), kind.getDefaultLimit()));
+            permits.put(kind, new Semaphore(limit, true));
+            metrics.put(kind, new Metrics(limit));
+        }
+    }
+
+    public CompletableFuture<Void> run(IoKind kind, IoTask<?> task) {
+        return submit(kind, task).thenApply(ignored -> null);
+    }
+
+    public <T> CompletableFuture<T> submit(IoKind kind, IoTask<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Semaphore semaphore = permits.get(kind);
+        Metrics stats = metrics.get(kind);
+        long submitted = System.nanoTime();
+
+        Future<?> future;
+        stats.queued.incrementAndGet();
+        try {
+            future = executor.submit(() -> {
+                boolean acquired = false;
+                try {
+                    semaphore.acquire();
+                    acquired = true;
+                    stats.queued.decrementAndGet();
+                    stats.running.incrementAndGet();
+
+                    long started = System.nanoTime();
+                    stats.waitNanos.add(started - submitted);
+                    try {
+                        if (!result.isDone()) {
+                            result.complete(task.call());
+                        }
+                    } finally {
+                        long runNanos = System.nanoTime() - started;
+                        stats.runNanos.add(runNanos);
+                        stats.maxRunNanos.accumulate(runNanos);
+                        stats.completed.increment();
+                        stats.running.decrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    result.completeExceptionally(new CancellationException("Interrupted"));
+                } catch (Throwable t) {
+                    stats.failed.increment();
+                    result.completeExceptionally(t);
+                } finally {
+                    if (acquired) {
+                        semaphore.release();
+                    } else {
+                        stats.queued.decrementAndGet();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stats.queued.decrementAndGet();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public Metrics getMetrics(IoKind kind) {
+        return metrics.get(kind);
+    }
+
+    /** Waits for in-flight work (e.g. the last stats write) before giving up and interrupting it. */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("I/O tasks still running after " + SHUTDOWN_TIMEOUT_SECONDS + "s, interrupting them.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class Metrics {
+        @Getter
+        private final int limit;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder runNanos = new LongAdder();
+        private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0);
+
+        private Metrics(int limit) {
+            this.limit = limit;
+        }
+
+        public int getQueued() {
+            return queued.get();
+        }
+
+        public int getRunning() {
+            return running.get();
+        }
+
+        public long getCompleted() {
+            return completed.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public double getAverageWaitMillis() {
+            long count = completed.sum();
+            return count == 0 ? 0 : waitNanos.sum() / 1e6 / count;
+        }
+
+        public double getAverageRunMillis() {
+            long count = completed.sum();
+            return count == 0 ? 0 : runNanos.sum() / 1e6 / count;
+        }
+
+        public double getMaxRunMillis() {
+            return maxRunNanos.get() / 1e6;
+        }
+    }
+}
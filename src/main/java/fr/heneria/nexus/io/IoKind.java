@@ -0,0 +1,23 @@
+package fr.heneria.nexus.io;
+
+import lombok.Getter;
+
+/**
+ * Kinds of blocking file work, each with its own concurrency limit
+ * ({@code io.limits.<key>} in config.yml).
+ */
+@Getter
+public enum IoKind {
+    MAP_COPY("map-copy", 2),
+    MAP_DELETE("map-delete", 2),
+    CONFIG_SAVE("config-save", 1),
+    STATS_WRITE("stats-write", 1);
+
+    private final String configKey;
+    private final int defaultLimit;
+
+    IoKind(String configKey, int defaultLimit) {
+        this.configKey = configKey;
+        this.defaultLimit = defaultLimit;
+    }
+}
@@ -0,0 +1,10 @@
+package fr.heneria.nexus.io;
+
+/**
+ * Blocking work submitted to the {@link IoExecutor}.
+ */
+@FunctionalInterface
+public interface IoTask<T> {
+
+    T call() throws Exception;
+}
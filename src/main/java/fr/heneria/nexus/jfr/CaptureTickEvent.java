@@ -0,0 +1,23 @@
+package fr.heneria.nexus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fr.heneria.nexus.CaptureTick")
+@Label("Capture Point Tick")
+@Category({"Nexus", "Objective"})
+public class CaptureTickEvent extends jdk.jfr.Event {
+
+    @Label("Zone Id")
+    public String zoneId;
+
+    @Label("Blue Players In Zone")
+    public int bluePlayers;
+
+    @Label("Red Players In Zone")
+    public int redPlayers;
+
+    @Label("Capture Progress")
+    public double progress;
+}
@@ -0,0 +1,17 @@
+package fr.heneria.nexus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fr.heneria.nexus.HologramFlush")
+@Label("Hologram Flush")
+@Category({"Nexus", "Hologram"})
+public class HologramFlushEvent extends jdk.jfr.Event {
+
+    @Label("Dirty Holograms")
+    public int dirty;
+
+    @Label("Texts Sent")
+    public int updates;
+}
@@ -0,0 +1,23 @@
+package fr.heneria.nexus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fr.heneria.nexus.MapProvision")
+@Label("Map Provision Phase")
+@Category({"Nexus", "Map"})
+@Description("One phase of a map load: waiting for the previous instance, copying the template, creating the world")
+public class MapProvisionEvent extends jdk.jfr.Event {
+
+    @Label("Map Id")
+    public String mapId;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Prefetched")
+    @Description("The instance folder was copied in advance at the end of the previous match")
+    public boolean prefetched;
+}
@@ -0,0 +1,23 @@
+package fr.heneria.nexus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fr.heneria.nexus.NexusDamage")
+@Label("Nexus Damage")
+@Category({"Nexus", "Objective"})
+public class NexusDamageEvent extends jdk.jfr.Event {
+
+    @Label("Team")
+    public String team;
+
+    @Label("Attacker")
+    public String attacker;
+
+    @Label("Amount")
+    public double amount;
+
+    @Label("Remaining Health")
+    public double remainingHealth;
+}
@@ -0,0 +1,17 @@
+package fr.heneria.nexus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fr.heneria.nexus.NexusOverload")
+@Label("Nexus Overload")
+@Category({"Nexus", "Objective"})
+public class NexusOverloadEvent extends jdk.jfr.Event {
+
+    @Label("Team")
+    public String team;
+
+    @Label("Shield Layers Left")
+    public int shieldLayers;
+}
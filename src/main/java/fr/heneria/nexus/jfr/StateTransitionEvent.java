@@ -0,0 +1,25 @@
+package fr.heneria.nexus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fr.heneria.nexus.StateTransition")
+@Label("Game State Transition")
+@Category({"Nexus", "Game"})
+@Description("GameManager.setState, including the work done on entering the new state")
+public class StateTransitionEvent extends jdk.jfr.Event {
+
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+
+    @Label("Map Id")
+    public String mapId;
+
+    @Label("Online Players")
+    public int players;
+}
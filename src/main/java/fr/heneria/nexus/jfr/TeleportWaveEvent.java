@@ -0,0 +1,22 @@
+package fr.heneria.nexus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fr.heneria.nexus.TeleportWave")
+@Label("Teleport Wave")
+@Category({"Nexus", "Game"})
+@Description("Wave teleport of a match start or end, from the first wave to the last arrival")
+public class TeleportWaveEvent extends jdk.jfr.Event {
+
+    @Label("Players")
+    public int players;
+
+    @Label("Waves")
+    public int waves;
+
+    @Label("Players Per Tick")
+    public int playersPerTick;
+}
@@ -1,13 +1,16 @@
 package fr.heneria.nexus.listeners;
 
 import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.classes.Ability;
 import fr.heneria.nexus.classes.NexusClass;
-import org.bukkit.Material;
+import fr.heneria.nexus.classes.Trigger;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 
+/**
+ * Class ability triggers. Only registered while the game is PLAYING.
+ */
 public class ClassListener implements Listener {
 
     private final NexusPlugin plugin;
@@ -18,14 +21,18 @@ public class ClassListener implements Listener {
 
     @EventHandler
     public void onInteract(PlayerInteractEvent event) {
-        if (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-            NexusClass nexusClass = plugin.getClassManager().getClass(event.getPlayer());
-            if (nexusClass != null) {
-                // TODO: Move item check to class implementation or make generic
-                if (event.getItem() != null && event.getItem().getType() == Material.IRON_SWORD) {
-                    nexusClass.onAbility(event.getPlayer());
-                }
-            }
+        Trigger trigger = Trigger.fromAction(event.getAction());
+        if (trigger == null || event.getItem() == null) return;
+
+        NexusClass nexusClass = plugin.getClassManager().getClass(event.getPlayer());
+        if (nexusClass == null) return;
+
+        Ability ability = nexusClass.getAbility(trigger, event.getItem().getType());
+        if (ability == null) return;
+
+        if (!plugin.getCooldownService().tryAcquireAbility(event.getPlayer(), ability.getIndex(), ability.getCooldown())) {
+            return;
         }
+        ability.execute(event.getPlayer());
     }
 }
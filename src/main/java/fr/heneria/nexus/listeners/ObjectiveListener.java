@@ -1,10 +1,12 @@
 package fr.heneria.nexus.listeners;
 
 import fr.heneria.nexus.NexusPlugin;
-import fr.heneria.nexus.game.GameState;
+import fr.heneria.nexus.cooldown.CooldownType;
 import fr.heneria.nexus.game.objective.NexusCore;
 import fr.heneria.nexus.game.objective.ObjectiveManager;
 import fr.heneria.nexus.game.team.GameTeam;
+import fr.heneria.nexus.player.PlayerRegistry;
+import fr.heneria.nexus.player.PlayerStat;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.GameMode;
@@ -16,24 +18,25 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.UUID;
-
+/**
+ * Match rules for objectives. Only registered while the game is PLAYING.
+ */
 public class ObjectiveListener implements Listener {
 
     private final NexusPlugin plugin;
-    private final Map<UUID, Long> cooldowns = new HashMap<>();
-    private static final long COOLDOWN_MS = 500; // 0.5 seconds
+    private static final int HIT_COOLDOWN_TICKS = 10; // 0.5 seconds
+    private static final int MESSAGE_THROTTLE_TICKS = 20;
+    private final Location scratch = new Location(null, 0, 0, 0);
 
     public ObjectiveListener(NexusPlugin plugin) {
         this.plugin = plugin;
@@ -43,58 +46,84 @@ public class ObjectiveListener implements Listener {
 
     @EventHandler
     public void onSlotChange(PlayerItemHeldEvent event) {
-        if (plugin.getGameManager().getState() != GameState.PLAYING) return;
         Player player = event.getPlayer();
-        ItemStack held = player.getInventory().getItem(event.getPreviousSlot());
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        if (!objectives.isCarrier(player)) return;
 
-        if (ObjectiveManager.isCellItem(held)) {
+        ItemStack held = player.getInventory().getItem(event.getPreviousSlot());
+        if (objectives.isCellItem(held)) {
             event.setCancelled(true);
-            player.sendMessage(Component.text("Vous ne pouvez pas changer d'item en portant la Cellule !", NamedTextColor.RED));
+            sendThrottled(player, Component.text("Vous ne pouvez pas changer d'item en portant la Cellule !", NamedTextColor.RED));
         }
     }
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
-        if (plugin.getGameManager().getState() != GameState.PLAYING) return;
         if (event.getCurrentItem() == null) return;
+        if (!(event.getWhoClicked() instanceof Player player)) return;
 
-        if (ObjectiveManager.isCellItem(event.getCurrentItem())) {
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        if (objectives.isCarrier(player) && objectives.isCellItem(event.getCurrentItem())) {
             event.setCancelled(true);
-            if (event.getWhoClicked() instanceof Player player) {
-                 player.sendMessage(Component.text("Vous ne pouvez pas déplacer la Cellule !", NamedTextColor.RED));
-            }
+            sendThrottled(player, Component.text("Vous ne pouvez pas déplacer la Cellule !", NamedTextColor.RED));
         }
     }
 
     @EventHandler
     public void onDrop(PlayerDropItemEvent event) {
-        if (plugin.getGameManager().getState() != GameState.PLAYING) return;
-
-        if (ObjectiveManager.isCellItem(event.getItemDrop().getItemStack())) {
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        if (objectives.isCarrier(event.getPlayer()) && objectives.isCellItem(event.getItemDrop().getItemStack())) {
             event.setCancelled(true);
-            event.getPlayer().sendMessage(Component.text("Vous ne pouvez pas jeter la Cellule !", NamedTextColor.RED));
+            sendThrottled(event.getPlayer(), Component.text("Vous ne pouvez pas jeter la Cellule !", NamedTextColor.RED));
         }
     }
 
     @EventHandler
     public void onDeath(PlayerDeathEvent event) {
-        if (plugin.getGameManager().getState() != GameState.PLAYING) return;
-
-        boolean hadCell = false;
-        Iterator<ItemStack> it = event.getDrops().iterator();
-        while (it.hasNext()) {
-            ItemStack item = it.next();
-            if (ObjectiveManager.isCellItem(item)) {
-                it.remove(); // Remove from drops
-                hadCell = true;
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        registry.addStat(registry.getSlot(event.getEntity()), PlayerStat.DEATHS, 1);
+        Player killer = event.getEntity().getKiller();
+        if (killer != null) {
+            registry.addStat(registry.getSlot(killer), PlayerStat.KILLS, 1);
+        }
+
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        if (!objectives.removeCarrier(event.getEntity())) return;
+
+        // Remove from drops
+        event.getDrops().removeIf(objectives::isCellItem);
+
+        plugin.getServer().broadcast(Component.text("La Cellule a été perdue !", NamedTextColor.RED));
+        objectives.triggerCellRespawn(10); // Default 10s or from config?
+        // Ideally from config but for now hardcoded 10s as fallback or get from active map?
+        // Let's use 10s as per requirement "Timer de respawn".
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        if (!objectives.removeCarrier(player)) return;
+
+        // Don't let the Cell leave with the player's saved inventory
+        ItemStack[] contents = player.getInventory().getContents();
+        for (int i = 0; i < contents.length; i++) {
+            if (objectives.isCellItem(contents[i])) {
+                player.getInventory().setItem(i, null);
             }
         }
 
-        if (hadCell) {
-            plugin.getServer().broadcast(Component.text("La Cellule a été perdue !", NamedTextColor.RED));
-            plugin.getObjectiveManager().triggerCellRespawn(10); // Default 10s or from config?
-            // Ideally from config but for now hardcoded 10s as fallback or get from active map?
-            // Let's use 10s as per requirement "Timer de respawn".
+        plugin.getServer().broadcast(Component.text("La Cellule a été perdue !", NamedTextColor.RED));
+        objectives.triggerCellRespawn(10);
+    }
+
+    @EventHandler
+    public void onPickup(EntityPickupItemEvent event) {
+        if (!(event.getEntity() instanceof Player player)) return;
+
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        if (objectives.isCellItem(event.getItem().getItemStack())) {
+            objectives.addCarrier(player);
         }
     }
 
@@ -103,21 +132,12 @@ public class ObjectiveListener implements Listener {
     // Handle interaction with BlockDisplay entity (it's an Entity, not a Block)
     @EventHandler
     public void onEntityInteract(PlayerInteractEntityEvent event) {
-         if (plugin.getGameManager().getState() != GameState.PLAYING) return;
          if (!(event.getRightClicked() instanceof org.bukkit.entity.BlockDisplay)) return;
 
          // Find Nexus associated with this entity?
          // We didn't store the entity UUID in NexusCore map easily.
          // But we can check location proximity.
-         Location loc = event.getRightClicked().getLocation();
-
-         NexusCore targetNexus = null;
-         for (NexusCore nexus : plugin.getObjectiveManager().getNexusList()) {
-             if (nexus.getLocation().getWorld().equals(loc.getWorld()) && nexus.getLocation().distanceSquared(loc) < 4) {
-                 targetNexus = nexus;
-                 break;
-             }
-         }
+         NexusCore targetNexus = plugin.getObjectiveManager().findNexus(event.getRightClicked().getLocation());
 
          if (targetNexus != null) {
              handleNexusInteract(event.getPlayer(), targetNexus);
@@ -127,39 +147,31 @@ public class ObjectiveListener implements Listener {
     // Also handle left click attack on entity
     @EventHandler
     public void onEntityDamage(EntityDamageByEntityEvent event) {
-        if (plugin.getGameManager().getState() != GameState.PLAYING) return;
         if (!(event.getEntity() instanceof org.bukkit.entity.BlockDisplay)) return;
         if (!(event.getDamager() instanceof Player attacker)) return;
 
-        Location loc = event.getEntity().getLocation();
-        NexusCore targetNexus = null;
-         for (NexusCore nexus : plugin.getObjectiveManager().getNexusList()) {
-             if (nexus.getLocation().getWorld().equals(loc.getWorld()) && nexus.getLocation().distanceSquared(loc) < 4) {
-                 targetNexus = nexus;
-                 break;
-             }
-         }
+        NexusCore targetNexus = plugin.getObjectiveManager().findNexus(event.getEntity().getLocation(scratch));
 
          if (targetNexus != null) {
              event.setCancelled(true); // Don't damage the entity itself
 
-             GameTeam attackerTeam = plugin.getTeamManager().getPlayerTeam(attacker);
+             // Resolve the slot once, then only read columns
+             PlayerRegistry registry = plugin.getPlayerRegistry();
+             int slot = registry.getSlot(attacker);
+             GameTeam attackerTeam = registry.getTeam(slot);
              if (attackerTeam == null) return;
              if (targetNexus.getOwner() == attackerTeam) {
-                 attacker.sendMessage(Component.text("Vous ne pouvez pas attaquer votre propre Nexus !", NamedTextColor.RED));
+                 sendThrottled(attacker, Component.text("Vous ne pouvez pas attaquer votre propre Nexus !", NamedTextColor.RED));
                  return;
              }
 
-             long now = System.currentTimeMillis();
-             if (cooldowns.containsKey(attacker.getUniqueId())) {
-                 long last = cooldowns.get(attacker.getUniqueId());
-                 if (now - last < COOLDOWN_MS) {
-                     return;
-                 }
+             if (!plugin.getCooldownService().tryAcquire(slot, CooldownType.NEXUS_HIT, HIT_COOLDOWN_TICKS)) {
+                 return;
              }
 
-             targetNexus.damage(1.0, attacker);
-             cooldowns.put(attacker.getUniqueId(), now);
+             if (targetNexus.damage(1.0, attacker)) {
+                 registry.addStat(slot, PlayerStat.NEXUS_DAMAGE, 1);
+             }
          }
     }
 
@@ -172,11 +184,10 @@ public class ObjectiveListener implements Listener {
 
     @EventHandler
     public void onBlockInteract(PlayerInteractEvent event) {
-         if (plugin.getGameManager().getState() != GameState.PLAYING) return;
-
          // Handle Right Click Air/Block with Cell -> Check distance to Enemy Nexus?
          if (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-             if (ObjectiveManager.isCellItem(event.getItem())) {
+             ObjectiveManager objectives = plugin.getObjectiveManager();
+             if (objectives.isCarrier(event.getPlayer()) && objectives.isCellItem(event.getItem())) {
                  // Check if looking at a Nexus
                  // Raytrace? Or just simple distance check to all nexus
                  for (NexusCore nexus : plugin.getObjectiveManager().getNexusList()) {
@@ -199,9 +210,15 @@ public class ObjectiveListener implements Listener {
             return;
         }
 
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        if (!objectives.isCarrier(player)) return;
+
         ItemStack item = player.getInventory().getItemInMainHand();
-        if (ObjectiveManager.isCellItem(item)) {
+        if (objectives.isCellItem(item)) {
              item.setAmount(item.getAmount() - 1);
+             objectives.removeCarrier(player);
+             PlayerRegistry registry = plugin.getPlayerRegistry();
+             registry.addStat(registry.getSlot(player), PlayerStat.CELLS_DELIVERED, 1);
              targetNexus.overload();
              player.sendMessage(Component.text("Nexus ennemi surchargé !", NamedTextColor.GOLD));
              plugin.getObjectiveManager().triggerCellRespawn(10);
@@ -210,15 +227,16 @@ public class ObjectiveListener implements Listener {
 
     @EventHandler
     public void onBlockBreak(BlockBreakEvent event) {
-        if (plugin.getGameManager().getState() != GameState.PLAYING) return;
         if (event.getPlayer().getGameMode() == GameMode.CREATIVE) return;
 
-        Location blockLoc = event.getBlock().getLocation();
-        for (NexusCore nexus : plugin.getObjectiveManager().getNexusList()) {
-            if (nexus.getLocation().getWorld().equals(blockLoc.getWorld()) && nexus.getLocation().distanceSquared(blockLoc) < 4) {
-                event.setCancelled(true);
-                return;
-            }
+        if (plugin.getObjectiveManager().isProtected(event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    private void sendThrottled(Player player, Component message) {
+        if (plugin.getCooldownService().tryAcquire(player, CooldownType.MESSAGE_THROTTLE, MESSAGE_THROTTLE_TICKS)) {
+            player.sendMessage(message);
         }
     }
 }
@@ -0,0 +1,31 @@
+package fr.heneria.nexus.listeners;
+
+import fr.heneria.nexus.NexusPlugin;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class PlayerListener implements Listener {
+
+    private final NexusPlugin plugin;
+
+    public PlayerListener(NexusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        plugin.getPlayerRegistry().register(event.getPlayer());
+        plugin.getTeamManager().handleJoin(event.getPlayer());
+        plugin.getClassManager().handleJoin(event.getPlayer());
+    }
+
+    // Release last so other quit handlers can still read the player's state
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        plugin.getTeamManager().handleQuit(event.getPlayer());
+        plugin.getPlayerRegistry().unregister(event.getPlayer());
+    }
+}
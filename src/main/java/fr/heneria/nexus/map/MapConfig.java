@@ -2,6 +2,7 @@ package fr.heneria.nexus.map;
 
 import fr.heneria.nexus.NexusPlugin;
 import fr.heneria.nexus.game.team.GameTeam;
+import fr.heneria.nexus.io.IoKind;
 import fr.heneria.nexus.utils.LocationUtils;
 import org.bukkit.Location;
 import org.bukkit.configuration.ConfigurationSection;
@@ -9,22 +10,30 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class MapConfig {
 
     private final NexusPlugin plugin;
     private final File configFile;
     private FileConfiguration config;
-    private final Map<String, NexusMap> maps = new HashMap<>();
+    private CompletableFuture<Void> lastSave = CompletableFuture.completedFuture(null);
+    private final Map<String, NexusMap> maps = new LinkedHashMap<>(); // Keeps maps.yml order for the rotation
 
     public MapConfig(NexusPlugin plugin) {
+        this(plugin, new File(plugin.getDataFolder(), "maps.yml"));
+    }
+
+    public MapConfig(NexusPlugin plugin, File configFile) {
         this.plugin = plugin;
-        this.configFile = new File(plugin.getDataFolder(), "maps.yml");
+        this.configFile = configFile;
     }
 
     public void load() {
@@ -32,6 +41,10 @@ public class MapConfig {
             plugin.saveResource("maps.yml", false);
         }
         config = YamlConfiguration.loadConfiguration(configFile);
+        parseMaps();
+    }
+
+    private void parseMaps() {
         maps.clear();
 
         ConfigurationSection mapsSection = config.getConfigurationSection("maps");
@@ -87,7 +100,25 @@ public class MapConfig {
                 }
             }
 
-            maps.put(key, new NexusMap(key, name, description, sourceFolder, teamSpawns, teamNexusLocations, captureConfigs));
+            // Load protected volumes (blocks that can never be broken during a match)
+            List<NexusMap.RegionConfig> protectedRegions = new ArrayList<>();
+            if (section.isConfigurationSection("protectedRegions")) {
+                ConfigurationSection regionsSec = section.getConfigurationSection("protectedRegions");
+                for (String regionKey : regionsSec.getKeys(false)) {
+                    ConfigurationSection rSec = regionsSec.getConfigurationSection(regionKey);
+                    if (rSec != null) {
+                        NexusMap.ConfigLocation min = parseConfigLocation(rSec, "min");
+                        NexusMap.ConfigLocation max = parseConfigLocation(rSec, "max");
+                        if (min != null && max != null) {
+                            protectedRegions.add(new NexusMap.RegionConfig(regionKey, min, max));
+                        } else {
+                            plugin.getLogger().warning("Invalid protected region in map " + key + ": " + regionKey);
+                        }
+                    }
+                }
+            }
+
+            maps.put(key, new NexusMap(key, name, description, sourceFolder, teamSpawns, teamNexusLocations, captureConfigs, protectedRegions));
         }
     }
 
@@ -157,13 +188,17 @@ public class MapConfig {
              LocationUtils.saveLocation(section, loc);
         }
 
-        try {
-            config.save(configFile);
-            if (reload) {
-                load();
-            }
-        } catch (IOException e) {
+        // Snapshot now, write off-thread; writes are chained so an older snapshot never lands last
+        String data = config.saveToString();
+        lastSave = lastSave.thenCompose(ignored -> plugin.getIoExecutor().run(IoKind.CONFIG_SAVE, () -> {
+            Files.writeString(configFile.toPath(), data, StandardCharsets.UTF_8);
+            return null;
+        })).exceptionally(e -> {
             plugin.getLogger().severe("Failed to save maps.yml: " + e.getMessage());
+            return null;
+        });
+        if (reload) {
+            parseMaps();
         }
     }
 
@@ -1,13 +1,21 @@
 package fr.heneria.nexus.map;
 
 import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.game.objective.ProtectedRegionIndex;
+import fr.heneria.nexus.io.IoKind;
+import fr.heneria.nexus.jfr.MapProvisionEvent;
+import fr.heneria.nexus.metrics.NexusMetrics;
 import fr.heneria.nexus.utils.FileUtils;
 import lombok.Getter;
 import org.bukkit.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class MapManager {
 
@@ -17,6 +25,12 @@ public class MapManager {
     @Getter
     private World currentWorld;
     private NexusMap currentMap;
+    private String lastMapId;
+    private Prefetch prefetch;
+    // Completed once the last unloaded instance folder is gone
+    private CompletableFuture<Void> pendingDelete = CompletableFuture.completedFuture(null);
+    private NexusMap preparedMap;
+    private ProtectedRegionIndex preparedRegions;
 
     public MapManager(NexusPlugin plugin) {
         this.plugin = plugin;
@@ -35,40 +49,69 @@ public class MapManager {
             plugin.getLogger().severe("Map " + mapId + " not found in config!");
             return CompletableFuture.failedFuture(new IllegalArgumentException("Map not found"));
         }
+        if (plugin.getGameManager().isEnding()) {
+            // The ending match still owns the current world and will unload it
+            return CompletableFuture.failedFuture(new IllegalStateException("The previous match is still ending"));
+        }
 
         CompletableFuture<World> future = new CompletableFuture<>();
+        NexusMetrics metrics = plugin.getMetrics();
+        long requested = System.nanoTime();
+        MapProvisionEvent waitEvent = new MapProvisionEvent();
+        waitEvent.begin();
+        Prefetch prefetched = takePrefetch(mapId);
+        // The previous instance of the same map may still be being deleted
+        CompletableFuture<Void> deletion = pendingDelete;
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            File templatesDir = new File(plugin.getDataFolder().getParentFile().getParentFile(), "world_templates");
-            File source = new File(templatesDir, map.getSourceFolder());
-            File target = new File(plugin.getDataFolder().getParentFile().getParentFile(), "instances/" + mapId + "_active");
-
-            if (!source.exists()) {
-                plugin.getLogger().severe("Template folder " + source.getAbsolutePath() + " does not exist!");
-                future.completeExceptionally(new IOException("Template folder missing"));
-                return;
-            }
+        // Failed prefetches were already logged, the template is simply copied again
+        CompletableFuture<ProtectedRegionIndex> prefetchedRegions = prefetched == null
+                ? CompletableFuture.completedFuture(null)
+                : prefetched.ready.exceptionally(e -> null);
 
-            try {
-                if (target.exists()) {
-                    FileUtils.deleteDirectory(target);
+        deletion.thenCombine(prefetchedRegions, (ignored, regions) -> regions).thenCompose(prepared -> plugin.getIoExecutor().submit(IoKind.MAP_COPY, () -> {
+            long copyStart = System.nanoTime();
+            metrics.mapLoadPhase("wait").record(copyStart - requested);
+            commitProvision(waitEvent, mapId, "wait", prepared != null);
+            MapProvisionEvent copyEvent = new MapProvisionEvent();
+            copyEvent.begin();
+            File target = instanceFolder(mapId + "_active");
+            ProtectedRegionIndex index = prepared;
+            if (index != null) {
+                try {
+                    if (target.exists()) {
+                        FileUtils.deleteDirectory(target);
+                    }
+                    Files.move(prefetched.folder.toPath(), target.toPath());
+                    plugin.getLogger().info("Using prefetched instance for map " + mapId);
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Prefetched instance of " + mapId + " unusable, copying template again: " + e.getMessage());
+                    index = null;
                 }
-                FileUtils.copyDirectory(source, target);
-            } catch (IOException e) {
-                plugin.getLogger().severe("Failed to copy map files: " + e.getMessage());
-                future.completeExceptionally(e);
-                return;
             }
 
-            // Create empty 'uid.dat' file so Bukkit doesn't try to recover old session.
-            File uidFile = new File(target, "uid.dat");
-            if (uidFile.exists()) {
-                uidFile.delete();
+            if (index == null) {
+                copyTemplate(map, target);
+                index = ProtectedRegionIndex.build(map);
+            }
+            metrics.mapLoadPhase("copy").record(System.nanoTime() - copyStart);
+            commitProvision(copyEvent, mapId, "copy", prepared != null);
+            return index;
+        })).whenComplete((regions, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                plugin.getLogger().severe("Failed to copy map files: " + cause.getMessage());
+                future.completeExceptionally(cause);
+                return;
             }
 
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
+            plugin.getScheduler().runGlobal(() -> {
+                long worldStart = System.nanoTime();
+                MapProvisionEvent worldEvent = new MapProvisionEvent();
+                worldEvent.begin();
                 WorldCreator creator = new WorldCreator("instances/" + mapId + "_active");
                 World world = creator.createWorld();
+                metrics.mapLoadPhase("world").record(System.nanoTime() - worldStart);
+                commitProvision(worldEvent, mapId, "world", prefetched != null);
                 if (world != null) {
                     world.setAutoSave(false);
                     world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
@@ -77,6 +120,9 @@ public class MapManager {
 
                     this.currentWorld = world;
                     this.currentMap = map;
+                    this.lastMapId = mapId;
+                    this.preparedMap = map;
+                    this.preparedRegions = regions;
 
                     // Set active map in GameManager
                     plugin.getGameManager().setActiveMap(map);
@@ -110,14 +156,139 @@ public class MapManager {
             // The command map unload calls this. So we should update GameManager too.
             plugin.getGameManager().setActiveMap(null);
 
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-                try {
-                    FileUtils.deleteDirectory(worldFolder);
-                    plugin.getLogger().info("Deleted active map folder: " + worldFolder.getName());
-                } catch (IOException e) {
-                    plugin.getLogger().severe("Failed to delete active map folder: " + e.getMessage());
-                }
+            pendingDelete = plugin.getIoExecutor().run(IoKind.MAP_DELETE, () -> {
+                FileUtils.deleteDirectory(worldFolder);
+                plugin.getLogger().info("Deleted active map folder: " + worldFolder.getName());
+                return null;
+            }).exceptionally(e -> {
+                plugin.getLogger().severe("Failed to delete active map folder: " + e.getMessage());
+                return null;
             });
         }
     }
+
+    /**
+     * Copies the next map of the rotation into its instance folder and builds its
+     * protected region index in the background, so that the next load only has to
+     * create the world. Called when a match ends.
+     */
+    public void prefetchNext() {
+        String nextId = nextMapId();
+        if (nextId == null) return;
+        if (prefetch != null && prefetch.map.getId().equals(nextId)) return;
+
+        discardPrefetch();
+        NexusMap map = mapConfig.getMap(nextId);
+        File folder = instanceFolder(nextId + "_prefetch");
+        long start = System.nanoTime();
+
+        CompletableFuture<ProtectedRegionIndex> ready = plugin.getIoExecutor().submit(IoKind.MAP_COPY, () -> {
+            MapProvisionEvent event = new MapProvisionEvent();
+            event.begin();
+            copyTemplate(map, folder);
+            ProtectedRegionIndex regions = ProtectedRegionIndex.build(map);
+            commitProvision(event, nextId, "prefetch", true);
+            plugin.getLogger().info("Prefetched map " + nextId + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return regions;
+        });
+        ready.exceptionally(e -> {
+            plugin.getLogger().warning("Failed to prefetch map " + nextId + ": " + e.getMessage());
+            return null;
+        });
+        this.prefetch = new Prefetch(map, folder, ready);
+    }
+
+    /** Next map id in maps.yml order after the last loaded one, or null if no map is configured. */
+    public String nextMapId() {
+        List<String> ids = new ArrayList<>(mapConfig.getMaps().keySet());
+        if (ids.isEmpty()) return null;
+        int index = lastMapId == null ? -1 : ids.indexOf(lastMapId);
+        return ids.get((index + 1) % ids.size());
+    }
+
+    /**
+     * @return the protected region index built off-thread for this map, or null if
+     *         it wasn't prepared (the caller then builds it itself)
+     */
+    public ProtectedRegionIndex takePreparedRegions(NexusMap map) {
+        if (preparedMap != map) return null;
+        ProtectedRegionIndex regions = preparedRegions;
+        preparedMap = null;
+        preparedRegions = null;
+        return regions;
+    }
+
+    private Prefetch takePrefetch(String mapId) {
+        if (prefetch == null) return null;
+        if (!prefetch.map.getId().equals(mapId)) {
+            discardPrefetch();
+            return null;
+        }
+        Prefetch taken = prefetch;
+        prefetch = null;
+        return taken;
+    }
+
+    private void discardPrefetch() {
+        Prefetch discarded = prefetch;
+        prefetch = null;
+        if (discarded == null) return;
+
+        // Let a running copy finish before deleting its folder
+        discarded.ready.whenComplete((index, error) -> plugin.getIoExecutor().run(IoKind.MAP_DELETE, () -> {
+            FileUtils.deleteDirectory(discarded.folder);
+            return null;
+        }).exceptionally(e -> {
+            plugin.getLogger().warning("Failed to delete prefetched map folder: " + e.getMessage());
+            return null;
+        }));
+    }
+
+    private static void commitProvision(MapProvisionEvent event, String mapId, String phase, boolean prefetched) {
+        if (event.shouldCommit()) {
+            event.mapId = mapId;
+            event.phase = phase;
+            event.prefetched = prefetched;
+            event.commit();
+        }
+    }
+
+    private void copyTemplate(NexusMap map, File target) throws IOException {
+        File source = new File(serverFolder(), "world_templates/" + map.getSourceFolder());
+        if (!source.exists()) {
+            plugin.getLogger().severe("Template folder " + source.getAbsolutePath() + " does not exist!");
+            throw new IOException("Template folder missing");
+        }
+
+        if (target.exists()) {
+            FileUtils.deleteDirectory(target);
+        }
+        FileUtils.copyDirectory(source, target);
+
+        // Create empty 'uid.dat' file so Bukkit doesn't try to recover old session.
+        File uidFile = new File(target, "uid.dat");
+        if (uidFile.exists()) {
+            uidFile.delete();
+        }
+    }
+
+    private File instanceFolder(String name) {
+        return new File(serverFolder(), "instances/" + name);
+    }
+
+    private File serverFolder() {
+        return plugin.getDataFolder().getParentFile().getParentFile();
+    }
+
+    private static final class Prefetch {
+        private final NexusMap map;
+        private final File folder;
+        private final CompletableFuture<ProtectedRegionIndex> ready;
+
+        private Prefetch(NexusMap map, File folder, CompletableFuture<ProtectedRegionIndex> ready) {
+            this.map = map;
+            this.folder = folder;
+            this.ready = ready;
+        }
+    }
 }
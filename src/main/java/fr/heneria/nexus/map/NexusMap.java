@@ -21,6 +21,7 @@ public class NexusMap {
     private final Map<GameTeam, ConfigLocation> teamSpawns;
     private final Map<GameTeam, ConfigLocation> teamNexusLocations;
     private final List<CaptureConfig> captureConfigs;
+    private final List<RegionConfig> protectedRegions;
 
     @Getter
     @AllArgsConstructor
@@ -41,4 +42,12 @@ public class NexusMap {
         double radius;
         int respawnTime;
     }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RegionConfig {
+        String id;
+        ConfigLocation min;
+        ConfigLocation max;
+    }
 }
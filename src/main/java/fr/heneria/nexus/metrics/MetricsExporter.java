@@ -0,0 +1,173 @@
+package fr.heneria.nexus.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.io.IoExecutor;
+import fr.heneria.nexus.io.IoKind;
+import fr.heneria.nexus.perf.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@link NexusMetrics} and a few live gauges in the Prometheus text
+ * format on {@code http://<metrics.bind>:<metrics.port>/metrics}, using the
+ * JDK's built-in HTTP server. Off unless {@code metrics.enabled} is set.
+ * <p>
+ * Gauges are read from the HTTP thread without synchronization; a scrape may
+ * see a value that is a tick old, which is fine for monitoring.
+ */
+public class MetricsExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // Bucket upper bounds in nanoseconds
+    private static final long[] TICK_BUCKETS = {10_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000, 50_000_000};
+    private static final long[] LOAD_BUCKETS = {10_000_000, 50_000_000, 100_000_000, 250_000_000, 500_000_000, 1_000_000_000,
+            2_500_000_000L, 5_000_000_000L, 10_000_000_000L, 30_000_000_000L, 60_000_000_000L};
+
+    private final NexusPlugin plugin;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MetricsExporter(NexusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        if (!plugin.getConfig().getBoolean("metrics.enabled", false)) return;
+
+        String bind = plugin.getConfig().getString("metrics.bind", "127.0.0.1");
+        int port = plugin.getConfig().getInt("metrics.port", 9465);
+        try {
+            server = HttpServer.create(new InetSocketAddress(bind, port), 0);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not start metrics endpoint on " + bind + ":" + port + ": " + e.getMessage());
+            return;
+        }
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nexus-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        plugin.getLogger().info("Metrics endpoint listening on http://" + bind + ":" + port + "/metrics");
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private String render() {
+        NexusMetrics metrics = plugin.getMetrics();
+        StringBuilder out = new StringBuilder(4096);
+
+        counter(out, "nexus_matches_played_total", "Matches that reached the END state.", metrics.getMatchesPlayed().sum());
+        counter(out, "nexus_server_ticks_total", "Server ticks since startup, to turn counters into per-tick rates.", plugin.getServer().getCurrentTick());
+        counter(out, "nexus_hologram_updates_total", "Hologram texts sent to their entity.", metrics.getHologramUpdates().sum());
+
+        header(out, "nexus_map_load_phase_seconds", "Time spent in each phase of a map load.", "histogram");
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(metrics.getMapLoadPhases()).entrySet()) {
+            histogram(out, "nexus_map_load_phase_seconds", "phase=\"" + entry.getKey() + "\"", entry.getValue(), LOAD_BUCKETS);
+        }
+        header(out, "nexus_capture_tick_seconds", "Cost of one capture point evaluation.", "histogram");
+        histogram(out, "nexus_capture_tick_seconds", null, metrics.getCaptureTick(), TICK_BUCKETS);
+        header(out, "nexus_teleport_wave_seconds", "Duration of a wave teleport, first wave to last arrival.", "histogram");
+        histogram(out, "nexus_teleport_wave_seconds", null, metrics.getTeleportWave(), LOAD_BUCKETS);
+
+        IoExecutor io = plugin.getIoExecutor();
+        header(out, "nexus_io_queued", "File tasks waiting for a permit.", "gauge");
+        for (IoKind kind : IoKind.values()) {
+            sample(out, "nexus_io_queued", kindLabel(kind), io.getMetrics(kind).getQueued());
+        }
+        header(out, "nexus_io_running", "File tasks running.", "gauge");
+        for (IoKind kind : IoKind.values()) {
+            sample(out, "nexus_io_running", kindLabel(kind), io.getMetrics(kind).getRunning());
+        }
+        header(out, "nexus_io_failed_total", "File tasks that threw.", "counter");
+        for (IoKind kind : IoKind.values()) {
+            sample(out, "nexus_io_failed_total", kindLabel(kind), io.getMetrics(kind).getFailed());
+        }
+
+        gauge(out, "nexus_cooldown_entries", "Running cooldowns in the cooldown table.", plugin.getCooldownService().getActiveCount());
+        gauge(out, "nexus_area_effects_active", "Area effects currently ticking.", plugin.getAreaEngine().getActiveCount());
+        gauge(out, "nexus_online_players", "Players known to the player registry.", plugin.getPlayerRegistry().getOnlineCount());
+        return out.toString();
+    }
+
+    private static String kindLabel(IoKind kind) {
+        return "kind=\"" + kind.name().toLowerCase() + "\"";
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "counter");
+        sample(out, name, null, value);
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "gauge");
+        sample(out, name, null, value);
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name);
+        if (labels != null) out.append('{').append(labels).append('}');
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static void histogram(StringBuilder out, String name, String labels, LatencyHistogram histogram, long[] bounds) {
+        String prefix = labels == null ? "" : labels + ",";
+        // Read the count first: buckets recorded meanwhile never exceed +Inf
+        long count = histogram.getCount();
+        for (long bound : bounds) {
+            long atMost = Math.min(count, histogram.getCountAtMost(bound));
+            out.append(name).append("_bucket{").append(prefix).append("le=\"").append(seconds(bound)).append("\"} ").append(atMost).append('\n');
+        }
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(count).append('\n');
+        String suffix = labels == null ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(suffix).append(' ').append(seconds(histogram.getSum())).append('\n');
+        out.append(name).append("_count").append(suffix).append(' ').append(count).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+}
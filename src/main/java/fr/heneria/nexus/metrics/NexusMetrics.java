@@ -0,0 +1,39 @@
+package fr.heneria.nexus.metrics;
+
+import fr.heneria.nexus.perf.LatencyHistogram;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms recorded by the game, always on (unlike the
+ * {@link fr.heneria.nexus.perf.TickProfiler}) and cheap enough for it: one
+ * atomic add per event. Read by {@link MetricsExporter}.
+ */
+@Getter
+public class NexusMetrics {
+
+    private final LongAdder matchesPlayed = new LongAdder();
+    private final LongAdder hologramUpdates = new LongAdder();
+    private final LatencyHistogram captureTick = new LatencyHistogram();
+    private final LatencyHistogram teleportWave = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> mapLoadPhases = new ConcurrentHashMap<>();
+
+    /** @param phase {@code wait}, {@code copy} or {@code world} */
+    public LatencyHistogram mapLoadPhase(String phase) {
+        return mapLoadPhases.computeIfAbsent(phase, ignored -> new LatencyHistogram());
+    }
+
+    public Runnable timed(LatencyHistogram histogram, Runnable task) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                histogram.record(System.nanoTime() - start);
+            }
+        };
+    }
+}
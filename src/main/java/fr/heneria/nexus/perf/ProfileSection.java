@@ -0,0 +1,18 @@
+package fr.heneria.nexus.perf;
+
+import lombok.Getter;
+
+/**
+ * One measured subsystem, e.g. the capture loop or a listener.
+ * Obtained once from {@link TickProfiler#section(String)} and kept in a field.
+ */
+@Getter
+public class ProfileSection {
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    ProfileSection(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,114 @@
+package fr.heneria.nexus.perf;
+
+import fr.heneria.nexus.NexusPlugin;
+import lombok.Getter;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures how long Nexus tasks and event handlers take, per subsystem.
+ * <p>
+ * Timed code is bracketed by {@link #start()} / {@link #stop(ProfileSection, long)}.
+ * While disabled ({@code profiling.enabled: false}, or {@code /nexus perf off})
+ * that is a single volatile read and nothing is recorded.
+ */
+public class TickProfiler {
+
+    private final NexusPlugin plugin;
+    private final Map<String, ProfileSection> sections = new ConcurrentHashMap<>();
+    @Getter
+    private volatile boolean enabled;
+    private volatile int startTick;
+
+    public TickProfiler(NexusPlugin plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("profiling.enabled", false);
+        this.startTick = plugin.getServer().getCurrentTick();
+    }
+
+    public ProfileSection section(String name) {
+        return sections.computeIfAbsent(name, ProfileSection::new);
+    }
+
+    /** @return the start timestamp, or 0 when profiling is off */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void stop(ProfileSection section, long start) {
+        if (start != 0L) {
+            section.getHistogram().record(System.nanoTime() - start);
+        }
+    }
+
+    public Runnable wrap(String sectionName, Runnable task) {
+        ProfileSection section = section(sectionName);
+        return () -> {
+            long start = start();
+            try {
+                task.run();
+            } finally {
+                stop(section, start);
+            }
+        };
+    }
+
+    /**
+     * Registers every {@code @EventHandler} of the listener like
+     * {@code PluginManager#registerEvents}, each timed under "listener:<class>".
+     */
+    public void registerEvents(Listener listener) {
+        ProfileSection section = section("listener:" + listener.getClass().getSimpleName());
+        for (Method method : listener.getClass().getMethods()) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic() || method.getParameterCount() != 1) continue;
+            Class<?> parameter = method.getParameterTypes()[0];
+            if (!Event.class.isAssignableFrom(parameter)) continue;
+
+            Class<? extends Event> eventClass = parameter.asSubclass(Event.class);
+            EventExecutor executor = EventExecutor.create(method, eventClass);
+            plugin.getServer().getPluginManager().registerEvent(eventClass, listener, handler.priority(), (target, event) -> {
+                long start = start();
+                try {
+                    executor.execute(target, event);
+                } finally {
+                    stop(section, start);
+                }
+            }, plugin, handler.ignoreCancelled());
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            reset();
+        }
+        this.enabled = enabled;
+    }
+
+    public void reset() {
+        for (ProfileSection section : sections.values()) {
+            section.getHistogram().reset();
+        }
+        startTick = plugin.getServer().getCurrentTick();
+    }
+
+    /** Ticks elapsed since the last reset, at least 1. */
+    public int getElapsedTicks() {
+        return Math.max(1, plugin.getServer().getCurrentTick() - startTick);
+    }
+
+    public Collection<ProfileSection> getSections() {
+        List<ProfileSection> sorted = new ArrayList<>(sections.values());
+        sorted.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return sorted;
+    }
+}
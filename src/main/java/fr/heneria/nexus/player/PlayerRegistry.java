@@ -0,0 +1,207 @@
+package fr.heneria.nexus.player;
+
+import fr.heneria.nexus.game.team.GameTeam;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Gives every online player a small integer slot, reused once they quit,
+ * and stores per-player match state in flat columns indexed by that slot.
+ * A handler resolves the slot once and then only reads arrays.
+ */
+public class PlayerRegistry {
+
+    private static final GameTeam[] TEAMS = GameTeam.values();
+    private static final int STATS = PlayerStat.values().length;
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final List<IntConsumer> releaseHooks = new ArrayList<>();
+    // Class and match stats of players who quit mid-match, restored when they rejoin
+    private final Map<UUID, Departed> departed = new HashMap<>();
+    private boolean keepDeparted;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int highWater;
+
+    // Columns
+    private Player[] players = new Player[16];
+    private byte[] teams = new byte[16];      // GameTeam ordinal + 1, 0 = none
+    private short[] classIds = new short[16]; // ClassManager id + 1, 0 = none
+    private boolean[] carriers = new boolean[16];
+    private int[] stats = new int[16 * STATS];
+    private int carrierCount;
+
+    public int register(Player player) {
+        Integer existing = slots.get(player.getUniqueId());
+        if (existing != null) return existing;
+
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : highWater++;
+        ensureCapacity(slot);
+        slots.put(player.getUniqueId(), slot);
+        players[slot] = player;
+
+        Departed record = departed.remove(player.getUniqueId());
+        if (record != null) {
+            classIds[slot] = record.classId;
+            System.arraycopy(record.stats, 0, stats, slot * STATS, STATS);
+        }
+        return slot;
+    }
+
+    public void unregister(Player player) {
+        Integer slot = slots.remove(player.getUniqueId());
+        if (slot == null) return;
+
+        for (IntConsumer hook : releaseHooks) {
+            hook.accept(slot);
+        }
+        if (keepDeparted) {
+            departed.put(player.getUniqueId(), new Departed(classIds[slot], Arrays.copyOfRange(stats, slot * STATS, (slot + 1) * STATS)));
+        }
+        reset(slot);
+
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    public int getSlot(Player player) {
+        Integer slot = slots.get(player.getUniqueId());
+        return slot != null ? slot : -1;
+    }
+
+    /** Online player in {@code slot}, or null if the slot is free. */
+    public Player getPlayer(int slot) {
+        return slot >= 0 && slot < highWater ? players[slot] : null;
+    }
+
+    /**
+     * Called with the slot id before its columns are reset and it is handed
+     * back to the free list, so other state owners can reset theirs.
+     */
+    public void addReleaseHook(IntConsumer hook) {
+        releaseHooks.add(hook);
+    }
+
+    /** Upper bound (exclusive) of every slot handed out so far. */
+    public int getCapacity() {
+        return highWater;
+    }
+
+    public int getOnlineCount() {
+        return slots.size();
+    }
+
+    // --- TEAM ---
+
+    public GameTeam getTeam(int slot) {
+        if (slot < 0) return null;
+        int value = teams[slot];
+        return value == 0 ? null : TEAMS[value - 1];
+    }
+
+    public void setTeam(int slot, GameTeam team) {
+        if (slot >= 0) teams[slot] = (byte) (team == null ? 0 : team.ordinal() + 1);
+    }
+
+    public void clearTeams() {
+        Arrays.fill(teams, (byte) 0);
+    }
+
+    // --- CLASS ---
+
+    /** ClassManager id of the equipped class, -1 if none. */
+    public int getClassId(int slot) {
+        return slot < 0 ? -1 : classIds[slot] - 1;
+    }
+
+    public void setClassId(int slot, int classId) {
+        if (slot >= 0) classIds[slot] = (short) (classId + 1);
+    }
+
+    // --- CELL CARRIER ---
+
+    public boolean isCarrier(int slot) {
+        return slot >= 0 && carriers[slot];
+    }
+
+    /** @return true if the carrier flag changed */
+    public boolean setCarrier(int slot, boolean carrier) {
+        if (slot < 0 || carriers[slot] == carrier) return false;
+        carriers[slot] = carrier;
+        carrierCount += carrier ? 1 : -1;
+        return true;
+    }
+
+    public void clearCarriers() {
+        Arrays.fill(carriers, false);
+        carrierCount = 0;
+    }
+
+    public int getCarrierCount() {
+        return carrierCount;
+    }
+
+    // --- STATS ---
+
+    public int getStat(int slot, PlayerStat stat) {
+        return slot < 0 ? 0 : stats[slot * STATS + stat.ordinal()];
+    }
+
+    public void addStat(int slot, PlayerStat stat, int amount) {
+        if (slot >= 0) stats[slot * STATS + stat.ordinal()] += amount;
+    }
+
+    public void clearStats() {
+        Arrays.fill(stats, 0);
+    }
+
+    // --- DEPARTED ---
+
+    /**
+     * Whether players who quit keep their class and stats for a rejoin. Only
+     * while a match runs: turning it off forgets every departed player.
+     */
+    public void setKeepDeparted(boolean keep) {
+        keepDeparted = keep;
+        if (!keep) {
+            departed.clear();
+        }
+    }
+
+    private void reset(int slot) {
+        players[slot] = null;
+        teams[slot] = 0;
+        classIds[slot] = 0;
+        setCarrier(slot, false);
+        Arrays.fill(stats, slot * STATS, (slot + 1) * STATS, 0);
+    }
+
+    private static final class Departed {
+        private final short classId;
+        private final int[] stats;
+
+        private Departed(short classId, int[] stats) {
+            this.classId = classId;
+            this.stats = stats;
+        }
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < players.length) return;
+        int capacity = players.length << 1;
+        players = Arrays.copyOf(players, capacity);
+        teams = Arrays.copyOf(teams, capacity);
+        classIds = Arrays.copyOf(classIds, capacity);
+        carriers = Arrays.copyOf(carriers, capacity);
+        stats = Arrays.copyOf(stats, capacity * STATS);
+    }
+}
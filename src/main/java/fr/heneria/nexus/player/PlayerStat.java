@@ -0,0 +1,8 @@
+package fr.heneria.nexus.player;
+
+public enum PlayerStat {
+    KILLS,
+    DEATHS,
+    NEXUS_DAMAGE,
+    CELLS_DELIVERED
+}
@@ -0,0 +1,86 @@
+package fr.heneria.nexus.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Paper implementation: everything sync runs on the main thread.
+ */
+class BukkitNexusScheduler implements NexusScheduler {
+
+    private final Plugin plugin;
+    private final BukkitScheduler scheduler;
+
+    BukkitNexusScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getServer().getScheduler();
+    }
+
+    @Override
+    public NexusTask runGlobal(Runnable task) {
+        return wrap(scheduler.runTask(plugin, task));
+    }
+
+    @Override
+    public NexusTask runGlobalLater(Runnable task, long delay) {
+        return wrap(scheduler.runTaskLater(plugin, task, delay));
+    }
+
+    @Override
+    public NexusTask runGlobalTimer(Runnable task, long delay, long period) {
+        return wrap(scheduler.runTaskTimer(plugin, task, delay, period));
+    }
+
+    @Override
+    public NexusTask runAt(Location location, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public NexusTask runAtTimer(Location location, Runnable task, long delay, long period) {
+        return runGlobalTimer(task, delay, period);
+    }
+
+    @Override
+    public NexusTask runFor(Entity entity, Runnable task) {
+        return runGlobal(() -> {
+            if (entity.isValid()) task.run();
+        });
+    }
+
+    @Override
+    public NexusTask runForTimer(Entity entity, Runnable task, long delay, long period) {
+        BukkitTask[] handle = new BukkitTask[1];
+        handle[0] = scheduler.runTaskTimer(plugin, () -> {
+            // Entity tasks are retired with their entity
+            if (!entity.isValid()) {
+                handle[0].cancel();
+                return;
+            }
+            task.run();
+        }, delay, period);
+        return wrap(handle[0]);
+    }
+
+    @Override
+    public NexusTask runAsync(Runnable task) {
+        return wrap(scheduler.runTaskAsynchronously(plugin, task));
+    }
+
+    private static NexusTask wrap(BukkitTask task) {
+        return new NexusTask() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
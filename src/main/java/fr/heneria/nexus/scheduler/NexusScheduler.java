@@ -0,0 +1,39 @@
+package fr.heneria.nexus.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Scheduling entry point of the plugin. Delays and periods are in ticks.
+ * <p>
+ * Only Paper is supported: every sync task runs on the main thread, and the
+ * player registry, team rosters, cooldown wheel and area effects rely on that.
+ * The location and entity variants only say what a task touches; entity tasks
+ * stop once their entity is removed.
+ */
+public interface NexusScheduler {
+
+    /** Game state, scoreboard-like work that belongs to no particular place. */
+    NexusTask runGlobal(Runnable task);
+
+    NexusTask runGlobalLater(Runnable task, long delay);
+
+    NexusTask runGlobalTimer(Runnable task, long delay, long period);
+
+    /** Work touching blocks or entities around {@code location}. */
+    NexusTask runAt(Location location, Runnable task);
+
+    NexusTask runAtTimer(Location location, Runnable task, long delay, long period);
+
+    /** Work on a single entity or player, skipped if it is gone by then. */
+    NexusTask runFor(Entity entity, Runnable task);
+
+    NexusTask runForTimer(Entity entity, Runnable task, long delay, long period);
+
+    NexusTask runAsync(Runnable task);
+
+    static NexusScheduler create(Plugin plugin) {
+        return new BukkitNexusScheduler(plugin);
+    }
+}
@@ -0,0 +1,11 @@
+package fr.heneria.nexus.scheduler;
+
+/**
+ * Handle on a task scheduled through {@link NexusScheduler}.
+ */
+public interface NexusTask {
+
+    void cancel();
+
+    boolean isCancelled();
+}
@@ -0,0 +1,103 @@
+package fr.heneria.nexus.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of primitive longs (no boxing, no per-entry objects).
+ * Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private boolean[] used;
+    private boolean containsZero;
+    private int size;
+    private int mask;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expected) {
+        int capacity = tableSize(expected);
+        this.keys = new long[capacity];
+        this.used = new boolean[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int pos = slot(key);
+        while (used[pos]) {
+            if (keys[pos] == key) return false;
+            pos = (pos + 1) & mask;
+        }
+        keys[pos] = key;
+        used[pos] = true;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) return containsZero;
+
+        int pos = slot(key);
+        while (used[pos]) {
+            if (keys[pos] == key) return true;
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        containsZero = false;
+        size = 0;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!oldUsed[i]) continue;
+            int pos = slot(oldKeys[i]);
+            while (used[pos]) {
+                pos = (pos + 1) & mask;
+            }
+            keys[pos] = oldKeys[i];
+            used[pos] = true;
+        }
+    }
+
+    private static int tableSize(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) Math.ceil(expected / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(4, capacity);
+    }
+}
@@ -0,0 +1,56 @@
+package fr.heneria.nexus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Test map "sim": blue nexus at z = -50, red nexus at z = 50, spawns ten blocks
+ * in front of them and three capture points of radius 8 on the z = 0 line.
+ */
+public final class TestArena {
+
+    public static final String MAP_ID = "sim";
+    public static final double Y = 64;
+    public static final double NEXUS_Z = 50;
+    public static final double SPAWN_Z = 40;
+    public static final double[] CAPTURE_XS = {-30, 0, 30};
+    public static final double CAPTURE_RADIUS = 8;
+
+    private TestArena() {
+    }
+
+    /** Writes the map into maps.yml and its world template, then reloads the map config. */
+    public static void install(NexusPlugin plugin) throws IOException {
+        StringBuilder yaml = new StringBuilder("maps:\n")
+                .append("  ").append(MAP_ID).append(":\n")
+                .append("    name: \"Simulation\"\n")
+                .append("    description: \"Test arena\"\n")
+                .append("    sourceFolder: \"").append(MAP_ID).append("\"\n")
+                .append("    teams:\n")
+                .append("      BLUE:\n")
+                .append("        spawn: [0.5, ").append(Y).append(", ").append(-SPAWN_Z).append("]\n")
+                .append("        nexusLocation: [0.0, ").append(Y).append(", ").append(-NEXUS_Z).append("]\n")
+                .append("      RED:\n")
+                .append("        spawn: [0.5, ").append(Y).append(", ").append(SPAWN_Z).append("]\n")
+                .append("        nexusLocation: [0.0, ").append(Y).append(", ").append(NEXUS_Z).append("]\n")
+                .append("    captures:\n");
+        for (int i = 0; i < CAPTURE_XS.length; i++) {
+            yaml.append("      point_").append(i).append(":\n")
+                    .append("        location: [").append(CAPTURE_XS[i]).append(", ").append(Y).append(", 0.0]\n")
+                    .append("        radius: ").append(CAPTURE_RADIUS).append('\n')
+                    .append("        respawnTime: 10\n");
+        }
+        File dataFolder = plugin.getDataFolder();
+        Files.createDirectories(dataFolder.toPath());
+        Files.writeString(new File(dataFolder, "maps.yml").toPath(), yaml.toString(), StandardCharsets.UTF_8);
+
+        // Same place MapManager copies templates from
+        File template = new File(dataFolder.getParentFile().getParentFile(), "world_templates/" + MAP_ID);
+        Files.createDirectories(template.toPath());
+        Files.write(new File(template, "level.dat").toPath(), new byte[4096]);
+
+        plugin.getMapManager().getMapConfig().load();
+    }
+}
@@ -0,0 +1,293 @@
+package fr.heneria.nexus.game;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.TestArena;
+import fr.heneria.nexus.classes.Trigger;
+import fr.heneria.nexus.cooldown.CooldownService;
+import fr.heneria.nexus.game.objective.CapturePoint;
+import fr.heneria.nexus.game.objective.NexusCore;
+import fr.heneria.nexus.game.objective.ObjectiveManager;
+import fr.heneria.nexus.game.team.GameTeam;
+import fr.heneria.nexus.perf.LatencyHistogram;
+import fr.heneria.nexus.player.PlayerRegistry;
+import fr.heneria.nexus.player.PlayerStat;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Headless LOBBY → STARTING → PLAYING → END cycle on a MockBukkit server, with
+ * hundreds of mock players walking through the capture zones of {@link TestArena},
+ * carrying the Cell to the enemy nexus, hitting it and casting their class ability.
+ * <p>
+ * Everything runs through the plugin: the {@link GameManager} state machine, map
+ * loading, the teleport waves, the scheduled capture points, ObjectiveListener and
+ * ClassListener, the passive and area engines. The players only move and fire the
+ * events a client would cause. Reports the plugin's cost per tick (scheduler tick
+ * plus the dispatch of those events) and the bytes it allocates per simulated second.
+ */
+class MatchLoadTest {
+
+    private static final int PLAYERS = 200;
+    private static final int SECONDS = 120;
+    private static final int TICKS_PER_SECOND = 20;
+    private static final double SPEED = 0.25; // Blocks per tick
+    private static final double REACH = 2.0;
+    private static final long WAIT_TIMEOUT_NANOS = 30_000_000_000L;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ServerMock server;
+    private NexusPlugin plugin;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private World arena;
+    private PlayerMock[] players;
+    private byte[] targets; // Capture point index, or -1 for the enemy nexus
+    private final Map<GameTeam, BlockDisplay> nexusDisplays = new EnumMap<>(GameTeam.class);
+    private final List<Event> pending = new ArrayList<>();
+    private int[] casters; // Players whose ability click is pending this tick
+    private boolean[] castReady;
+    private int casterCount;
+    private int abilityIndex;
+
+    private final LatencyHistogram ticks = new LatencyHistogram();
+    private long playingNanos;
+    private long playingBytes;
+    private int captures;
+    private int casts;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(NexusPlugin.class);
+        TestArena.install(plugin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void fullMatchCycle() {
+        GameManager game = plugin.getGameManager();
+
+        long start = System.nanoTime();
+        players = new PlayerMock[PLAYERS];
+        targets = new byte[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = server.addPlayer();
+            plugin.getClassManager().equipClass(players[i], "vanguard");
+        }
+        casters = new int[PLAYERS];
+        castReady = new boolean[PLAYERS];
+        abilityIndex = plugin.getClassManager().getClass(players[0]).getAbility(Trigger.RIGHT_CLICK, Material.IRON_SWORD).getIndex();
+        long lobbyNanos = System.nanoTime() - start;
+        assertEquals(PLAYERS, plugin.getPlayerRegistry().getOnlineCount());
+
+        // Map copy on the I/O executor, world creation, team balancing, spawn preload, teleport waves
+        start = System.nanoTime();
+        game.setActiveMap(plugin.getMapManager().getMapConfig().getMap(TestArena.MAP_ID));
+        game.setState(GameState.STARTING);
+        tickUntil(() -> game.getState() == GameState.PLAYING && allInArena());
+        long startingNanos = System.nanoTime() - start;
+
+        arena = plugin.getMapManager().getCurrentWorld();
+        findNexusDisplays();
+        assertEquals(2, nexusDisplays.size(), "both nexus displays spawned");
+        for (int i = 0; i < PLAYERS; i++) {
+            retarget(i);
+        }
+
+        for (int tick = 0; tick < SECONDS * TICKS_PER_SECOND; tick++) {
+            simulateTick();
+        }
+        int delivered = sumStat(PlayerStat.CELLS_DELIVERED);
+        int nexusDamage = sumStat(PlayerStat.NEXUS_DAMAGE);
+
+        start = System.nanoTime();
+        game.setState(GameState.END);
+        tickUntil(() -> game.getActiveMap() == null);
+        long endNanos = System.nanoTime() - start;
+        assertNull(plugin.getMapManager().getCurrentWorld());
+        game.setState(GameState.LOBBY);
+
+        System.out.printf("Simulated match: %d players, %d s%n", PLAYERS, SECONDS);
+        System.out.printf("  LOBBY %.1f ms, STARTING %.1f ms, END %.1f ms%n",
+                lobbyNanos / 1e6, startingNanos / 1e6, endNanos / 1e6);
+        System.out.printf("  PLAYING %.2f ms per simulated second, tick p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                playingNanos / 1e6 / SECONDS, ticks.getPercentile(50) / 1e3, ticks.getPercentile(99) / 1e3, ticks.getMax() / 1e3);
+        System.out.printf("  %.1f KiB allocated per simulated second%n", playingBytes / 1024.0 / SECONDS);
+        System.out.printf("  %d captures, %d Cells delivered, %d nexus damage, %d ability casts%n",
+                captures, delivered, nexusDamage, casts);
+
+        assertTrue(captures > 0, "a capture point was taken");
+        assertTrue(casts > 0, "abilities were cast");
+        assertTrue(delivered > 0, "Cells were delivered");
+        assertTrue(nexusDamage > 0, "a nexus was damaged");
+    }
+
+    /** One server tick: players move, then the plugin's tick and the events they caused are timed. */
+    private void simulateTick() {
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        int activeBefore = countActivePoints(objectives);
+        for (int i = 0; i < PLAYERS; i++) {
+            move(i);
+        }
+
+        long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        server.getScheduler().performOneTick();
+        long elapsed = System.nanoTime() - start;
+        long bytes = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+        // Untimed: which pending ability clicks are off cooldown, now that the cooldown wheel has ticked
+        CooldownService cooldowns = plugin.getCooldownService();
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        for (int c = 0; c < casterCount; c++) {
+            castReady[c] = !cooldowns.isAbilityOnCooldown(registry.getSlot(players[casters[c]]), abilityIndex);
+        }
+
+        bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+        start = System.nanoTime();
+        for (int i = 0; i < pending.size(); i++) {
+            server.getPluginManager().callEvent(pending.get(i));
+        }
+        elapsed += System.nanoTime() - start;
+        playingBytes += bytes + THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+        playingNanos += elapsed;
+        ticks.record(elapsed);
+        pending.clear();
+
+        // A cast fired if the ability went on cooldown during the dispatch
+        for (int c = 0; c < casterCount; c++) {
+            if (castReady[c] && cooldowns.isAbilityOnCooldown(registry.getSlot(players[casters[c]]), abilityIndex)) {
+                casts++;
+            }
+        }
+        casterCount = 0;
+
+        // A point goes inactive when it is captured, and comes back with the Cell respawn
+        captures += Math.max(0, activeBefore - countActivePoints(objectives));
+    }
+
+    private void move(int i) {
+        PlayerMock player = players[i];
+        GameTeam team = plugin.getTeamManager().getPlayerTeam(player);
+        if (team == null) return;
+
+        GameTeam enemy = team == GameTeam.BLUE ? GameTeam.RED : GameTeam.BLUE;
+        boolean carrier = plugin.getObjectiveManager().isCarrier(player);
+        boolean toNexus = carrier || targets[i] < 0;
+        NexusCore enemyNexus = plugin.getObjectiveManager().getNexus(enemy);
+        double targetX = toNexus ? enemyNexus.getLocation().getX() : TestArena.CAPTURE_XS[targets[i]];
+        double targetZ = toNexus ? enemyNexus.getLocation().getZ() : 0;
+
+        Location loc = player.getLocation();
+        double dx = targetX - loc.getX() + random.nextDouble(-2, 2);
+        double dz = targetZ - loc.getZ() + random.nextDouble(-2, 2);
+        double distance = Math.sqrt(dx * dx + dz * dz);
+        double x = loc.getX(), z = loc.getZ();
+        if (distance > SPEED) {
+            x += dx / distance * SPEED;
+            z += dz / distance * SPEED;
+        }
+        player.setLocation(new Location(arena, x, TestArena.Y, z));
+
+        double nx = targetX - x, nz = targetZ - z;
+        boolean atNexus = toNexus && nx * nx + nz * nz < REACH * REACH;
+        if (atNexus && carrier) {
+            pending.add(new PlayerInteractEvent(player, Action.RIGHT_CLICK_AIR, player.getInventory().getItemInMainHand(), null, BlockFace.SELF));
+        } else if (atNexus) {
+            pending.add(new EntityDamageByEntityEvent(player, nexusDisplays.get(enemy), EntityDamageEvent.DamageCause.ENTITY_ATTACK, 1.0));
+        } else if (!carrier && random.nextInt(100) == 0) {
+            // Right click with the kit sword: the class ability, when off cooldown
+            pending.add(new PlayerInteractEvent(player, Action.RIGHT_CLICK_AIR, player.getInventory().getItemInMainHand(), null, BlockFace.SELF));
+            casters[casterCount++] = i;
+        }
+
+        if (random.nextInt(1200) == 0) {
+            retarget(i);
+        }
+    }
+
+    private void retarget(int i) {
+        targets[i] = (byte) (random.nextInt(10) < 7 ? random.nextInt(TestArena.CAPTURE_XS.length) : -1);
+    }
+
+    private void findNexusDisplays() {
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        for (BlockDisplay display : arena.getEntitiesByClass(BlockDisplay.class)) {
+            NexusCore nexus = objectives.findNexus(display.getLocation());
+            if (nexus != null) {
+                nexusDisplays.put(nexus.getOwner(), display);
+            }
+        }
+        assertNotNull(objectives.getNexus(GameTeam.BLUE));
+        assertNotNull(objectives.getNexus(GameTeam.RED));
+    }
+
+    private boolean allInArena() {
+        World world = plugin.getMapManager().getCurrentWorld();
+        if (world == null) return false;
+        for (PlayerMock player : players) {
+            if (player.getWorld() != world) return false;
+        }
+        return true;
+    }
+
+    private static int countActivePoints(ObjectiveManager objectives) {
+        int active = 0;
+        for (CapturePoint point : objectives.getCapturePoints()) {
+            if (point.isActive()) active++;
+        }
+        return active;
+    }
+
+    private int sumStat(PlayerStat stat) {
+        PlayerRegistry registry = plugin.getPlayerRegistry();
+        int sum = 0;
+        for (PlayerMock player : players) {
+            sum += registry.getStat(registry.getSlot(player), stat);
+        }
+        return sum;
+    }
+
+    /** Runs server ticks until the condition holds; map copies and deletes finish on the I/O threads meanwhile. */
+    private void tickUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + WAIT_TIMEOUT_NANOS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for the game state");
+            server.getScheduler().performOneTick();
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package fr.heneria.nexus.game.objective;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import fr.heneria.nexus.NexusPlugin;
+import fr.heneria.nexus.game.team.GameTeam;
+import fr.heneria.nexus.listeners.ObjectiveListener;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budgets of the objective hot paths in their steady state, counted
+ * with the per-thread allocated bytes of {@code ThreadMXBean} after a JIT warmup.
+ * Each check runs the real objective code on a MockBukkit server.
+ */
+class ObjectiveAllocationTest {
+
+    private static final int WARMUP_OPS = 20_000;
+    private static final int OPS = 10_000;
+    private static final int ROSTER_SIZE = 20;
+    // Measurement noise allowed on top of each budget, in bytes per operation
+    private static final double TOLERANCE = 0.5;
+    // The mock server's online player view and its iterator, walked for the boss bar
+    private static final double CAPTURE_TICK_BUDGET = 64;
+    // The mock player and world record every message and sound they receive
+    private static final double PROTECTED_HIT_BUDGET = 96;
+    // Reading the Cell's tag copies its ItemMeta
+    private static final double CELL_TAG_BUDGET = 1024;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ServerMock server;
+    private NexusPlugin plugin;
+    private WorldMock world;
+    private volatile int sink;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "per-thread allocation counters");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(NexusPlugin.class);
+        world = server.addSimpleWorld("arena");
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void contestedCaptureTick() {
+        CapturePoint point = new CapturePoint(plugin, "budget", new Location(world, 0.5, 64, 0.5), 8, 10);
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            PlayerMock player = server.addPlayer();
+            plugin.getTeamManager().addPlayerToTeam(player, i % 2 == 0 ? GameTeam.BLUE : GameTeam.RED);
+            // Four players of each team in the zone, the others far enough to get the boss bar
+            player.setLocation(new Location(world, i < 8 ? 2 : 30, 64, i % 8));
+        }
+
+        // A tie leaves the progress where it is: nothing to redraw
+        assertWithinBudget("capture tick (contested)", CAPTURE_TICK_BUDGET, () -> {
+            point.run();
+            return point.isActive() ? 1 : 0;
+        });
+        assertTrue(point.isActive());
+        assertNull(point.getOwningTeam());
+    }
+
+    @Test
+    void nexusHitOnCooldown() {
+        Location core = new Location(world, 0, 64, -50);
+        NexusCore nexus = new NexusCore(plugin, core, GameTeam.BLUE, 100);
+        plugin.getObjectiveManager().getNexusList().add(nexus);
+        BlockDisplay display = world.spawn(core.clone().add(0.5, 1.5, 0.5), BlockDisplay.class);
+        PlayerMock attacker = server.addPlayer();
+        plugin.getTeamManager().addPlayerToTeam(attacker, GameTeam.RED);
+
+        ObjectiveListener listener = new ObjectiveListener(plugin);
+        EntityDamageByEntityEvent event = new EntityDamageByEntityEvent(attacker, display, EntityDamageEvent.DamageCause.ENTITY_ATTACK, 1.0);
+        // Arms the hit cooldown, which stays armed: the cooldown service never ticks here
+        listener.onEntityDamage(event);
+
+        assertWithinBudget("nexus hit (cooldown)", 0, () -> {
+            listener.onEntityDamage(event);
+            return event.isCancelled() ? 1 : 0;
+        });
+        assertEquals(nexus.getMaxHealth(), nexus.getCurrentHealth());
+    }
+
+    @Test
+    void hitOnProtectedNexus() {
+        NexusCore nexus = new NexusCore(plugin, new Location(world, 0, 64, -50), GameTeam.BLUE, 100);
+        PlayerMock attacker = server.addPlayer();
+
+        assertWithinBudget("nexus damage (protected)", PROTECTED_HIT_BUDGET, () -> nexus.damage(1.0, attacker) ? 1 : 0);
+        assertEquals(nexus.getMaxHealth(), nexus.getCurrentHealth());
+    }
+
+    @Test
+    void carrierChecks() {
+        ObjectiveManager objectives = plugin.getObjectiveManager();
+        PlayerMock carrier = server.addPlayer();
+        PlayerMock other = server.addPlayer();
+        objectives.addCarrier(carrier);
+        ItemStack cell = objectives.createCellItem();
+        ItemStack sword = new ItemStack(Material.IRON_SWORD);
+
+        // isCarrier(player) && isCellItem(item), as in the carrier listeners
+        assertWithinBudget("carrier check (not carrier)", 0, () -> objectives.isCarrier(other) && objectives.isCellItem(cell) ? 1 : 0);
+        assertWithinBudget("carrier check (other item)", 0, () -> objectives.isCarrier(carrier) && objectives.isCellItem(sword) ? 1 : 0);
+        assertWithinBudget("carrier check (Cell)", CELL_TAG_BUDGET, () -> objectives.isCarrier(carrier) && objectives.isCellItem(cell) ? 1 : 0);
+    }
+
+    private void assertWithinBudget(String name, double budgetBytes, IntSupplier op) {
+        run(op, WARMUP_OPS);
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        run(op, OPS);
+        double bytesPerOp = (double) (THREADS.getCurrentThreadAllocatedBytes() - before) / OPS;
+        assertTrue(bytesPerOp <= budgetBytes + TOLERANCE,
+                String.format("%s allocates %.1f B/op, budget %.0f B/op", name, bytesPerOp, budgetBytes));
+    }
+
+    private void run(IntSupplier op, int count) {
+        int acc = 0;
+        for (int i = 0; i < count; i++) {
+            acc += op.getAsInt();
+        }
+        sink += acc;
+    }
+}